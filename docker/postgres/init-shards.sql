@@ -0,0 +1,4 @@
+-- Extra databases used as wallet shards when wallet.sharding.enabled=true.
+-- Runs once, when the postgres volume is first initialised.
+CREATE DATABASE wallet_engine_shard_1;
+CREATE DATABASE wallet_engine_shard_2;
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Measures time from process start to the first successful wallet request.
+#
+# Usage: scripts/startup-benchmark.sh [runs] -- <command that starts the app>
+#   scripts/startup-benchmark.sh 5 -- java -jar target/fintech-wallet-engine-0.0.1-SNAPSHOT.jar
+#   scripts/startup-benchmark.sh 5 -- env SPRING_PROFILES_ACTIVE=faststart java -XX:AOTCache=app.aot -jar app/app.jar
+#
+# The probe is a real read (GET /api/v1/wallets/email/...); a "Wallet not found" 400 still counts as served.
+set -euo pipefail
+
+RUNS=${1:-3}
+shift || true
+[[ "${1:-}" == "--" ]] && shift
+if [[ $# -eq 0 ]]; then
+  echo "usage: $0 [runs] -- <start command>" >&2
+  exit 1
+fi
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+PROBE="$BASE_URL/api/v1/wallets/email/benchmark@wallet-engine.invalid"
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+now_ms() { date +%s%3N; }
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "$@" > "startup-run-$run.log" 2>&1 &
+  pid=$!
+
+  served=""
+  while (( $(now_ms) - start < TIMEOUT_S * 1000 )); do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "$PROBE" || true)
+    if [[ "$code" == "200" || "$code" == "400" ]]; then
+      served=$(( $(now_ms) - start ))
+      break
+    fi
+    sleep 0.05
+  done
+
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+
+  if [[ -z "$served" ]]; then
+    echo "run $run: no successful request within ${TIMEOUT_S}s (see startup-run-$run.log)" >&2
+    exit 1
+  fi
+  echo "run $run: first successful request after ${served} ms"
+  total=$(( total + served ))
+done
+
+echo "average time-to-first-request: $(( total / RUNS )) ms over $RUNS runs"
@@ -0,0 +1,37 @@
+package com.example.fintech_wallet_engine.config;
+
+import com.example.fintech_wallet_engine.exception.AdminAccessDeniedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards /api/v1/admin/** with a shared token sent as X-Admin-Token. Without wallet.admin.token configured
+ * the admin API is closed rather than open.
+ */
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminTokenInterceptor(String token) {
+        this.token = token != null && !token.isBlank() ? token.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (token == null) {
+            throw new AdminAccessDeniedException("Admin API is disabled");
+        }
+        String presented = request.getHeader(TOKEN_HEADER);
+        // Constant-time compare so the token cannot be guessed byte by byte
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Invalid admin token");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.fintech_wallet_engine.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.ratelimit")
+public record RateLimitProperties(
+        boolean enabled,
+        String clientHeader,
+        Integer maxBuckets,
+        Limit client,
+        Limit wallet,
+        Limit clientId
+) {
+
+    public RateLimitProperties {
+        if (clientHeader == null || clientHeader.isBlank()) {
+            clientHeader = "X-Client-Id";
+        }
+        if (maxBuckets == null || maxBuckets <= 0) {
+            maxBuckets = 100_000;
+        }
+        if (client == null) {
+            client = new Limit(200.0, 400);
+        }
+        if (wallet == null) {
+            wallet = new Limit(20.0, 40);
+        }
+        if (clientId == null) {
+            clientId = client;
+        }
+    }
+
+    public record Limit(double ratePerSecond, int burst) {}
+}
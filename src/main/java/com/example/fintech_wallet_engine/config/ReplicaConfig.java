@@ -0,0 +1,71 @@
+package com.example.fintech_wallet_engine.config;
+
+import com.example.fintech_wallet_engine.replica.ReplicaHealthMonitor;
+import com.example.fintech_wallet_engine.replica.ReplicaNode;
+import com.example.fintech_wallet_engine.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "wallet.replicas", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${wallet.sharding.enabled:false}") boolean shardingEnabled) {
+        if (shardingEnabled) {
+            throw new IllegalStateException("wallet.replicas and wallet.sharding cannot be enabled together");
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("wallet-primary");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties) {
+        List<ReplicaNode> nodes = new ArrayList<>();
+        for (int i = 0; i < properties.nodes().size(); i++) {
+            ReplicaProperties.Replica replica = properties.nodes().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("wallet-replica-" + i);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setReadOnly(true);
+            if (replica.maxPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.maxPoolSize());
+            }
+            nodes.add(new ReplicaNode("replica-" + i, dataSource));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, nodes, properties.maxLagBytes());
+    }
+
+    // Lazy proxy: the read-only flag of the surrounding transaction is only known once the first statement runs
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(primaryDataSource, replicaRoutingDataSource.getReplicas());
+    }
+}
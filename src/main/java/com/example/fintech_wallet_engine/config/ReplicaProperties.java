@@ -0,0 +1,25 @@
+package com.example.fintech_wallet_engine.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "wallet.replicas")
+public record ReplicaProperties(
+        boolean enabled,
+        Long maxLagBytes,
+        List<Replica> nodes
+) {
+
+    public ReplicaProperties {
+        // Roughly a few hundred small ledger writes; beyond this a replica is treated as behind
+        if (maxLagBytes == null || maxLagBytes < 0) {
+            maxLagBytes = 1024L * 1024L;
+        }
+        if (nodes == null) {
+            nodes = List.of();
+        }
+    }
+
+    public record Replica(String url, String username, String password, Integer maxPoolSize) {}
+}
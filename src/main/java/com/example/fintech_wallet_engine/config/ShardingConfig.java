@@ -0,0 +1,113 @@
+package com.example.fintech_wallet_engine.config;
+
+import com.example.fintech_wallet_engine.sharding.ShardMapStore;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import com.example.fintech_wallet_engine.sharding.ShardRoutingDataSource;
+import com.example.fintech_wallet_engine.sharding.ShardSchemaInitializer;
+import com.example.fintech_wallet_engine.sharding.WalletDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    // The routing tables on the directory shard follow the same rule as the JPA schema: only created by instances
+    // allowed to change it, so faststart (validate) never runs DDL
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    @Bean
+    public ShardRegistry shardRegistry(ShardingProperties properties) {
+        List<ShardingProperties.Shard> shards = properties.shards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("wallet.sharding.enabled=true but no wallet.sharding.shards configured");
+        }
+
+        Map<Integer, DataSource> dataSources = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            dataSources.put(i, createShardDataSource(i, shards.get(i)));
+        }
+        return new ShardRegistry(properties.buckets(), dataSources);
+    }
+
+    // Lazy proxy: the physical connection (and so the shard) is chosen on the first statement, not at tx begin
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRegistry shardRegistry) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardRegistry));
+    }
+
+    @Bean
+    public WalletDirectory walletDirectory(ShardRegistry shardRegistry) {
+        return new WalletDirectory(shardRegistry.dataSource(ShardRegistry.DIRECTORY_SHARD), createsSchema());
+    }
+
+    // Loaded before any wallet is placed, so new wallets follow the shared map from the first request
+    @Bean
+    public ShardMapStore shardMapStore(ShardRegistry shardRegistry) {
+        ShardMapStore store = new ShardMapStore(shardRegistry, shardRegistry.dataSource(ShardRegistry.DIRECTORY_SHARD),
+                createsSchema());
+        store.load();
+        return store;
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer() {
+        return new ShardSchemaInitializer();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    @Bean
+    public SmartInitializingSingleton initializeShardSchemas(ShardRegistry shardRegistry, ShardSchemaInitializer initializer,
+                                                             ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        // During refresh rather than as a runner, so no request or warmup can reach a shard before it is migrated
+        return () -> {
+            // unwrap waits for Hibernate even when the EntityManagerFactory is bootstrapped in the background
+            entityManagerFactory.getObject().unwrap(SessionFactory.class);
+            shardRegistry.dataSources().keySet().stream()
+                    .filter(shardId -> shardId != ShardRegistry.DIRECTORY_SHARD)
+                    .forEach(initializer::initialize);
+        };
+    }
+
+    private boolean createsSchema() {
+        return !ddlAuto.equalsIgnoreCase("validate") && !ddlAuto.equalsIgnoreCase("none");
+    }
+
+    public static DataSource createShardDataSource(int shardId, ShardingProperties.Shard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("wallet-shard-" + shardId);
+        dataSource.setJdbcUrl(shard.url());
+        dataSource.setUsername(shard.username());
+        dataSource.setPassword(shard.password());
+        if (shard.maxPoolSize() != null) {
+            dataSource.setMaximumPoolSize(shard.maxPoolSize());
+        }
+        return dataSource;
+    }
+}
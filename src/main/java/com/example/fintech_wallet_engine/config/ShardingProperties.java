@@ -0,0 +1,25 @@
+package com.example.fintech_wallet_engine.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "wallet.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        Integer buckets,
+        List<Shard> shards
+) {
+
+    public ShardingProperties {
+        // Virtual buckets let us move slices of the key space between shards without rehashing every wallet
+        if (buckets == null || buckets <= 0) {
+            buckets = 1024;
+        }
+        if (shards == null) {
+            shards = List.of();
+        }
+    }
+
+    public record Shard(String url, String username, String password, Integer maxPoolSize) {}
+}
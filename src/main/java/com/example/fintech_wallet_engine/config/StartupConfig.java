@@ -0,0 +1,33 @@
+package com.example.fintech_wallet_engine.config;
+
+import com.example.fintech_wallet_engine.controller.WalletController;
+import com.example.fintech_wallet_engine.controller.WalletFrameController;
+import com.example.fintech_wallet_engine.notification.BalanceNotificationListener;
+import com.example.fintech_wallet_engine.replica.ReplicaHealthMonitor;
+import com.example.fintech_wallet_engine.scheduler.BalanceCheckpointJob;
+import com.example.fintech_wallet_engine.scheduler.HoldExpirySweeper;
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardMapStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization=true these must still be created eagerly: scheduled jobs would
+    // otherwise never be registered, and the hot request path should not pay for bean creation.
+    // ReplicaHealthMonitor and ShardMapStore only exist with replicas/sharding enabled and refresh on a schedule
+    @Bean
+    public static LazyInitializationExcludeFilter eagerWalletBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                WalletService.class,
+                WalletController.class,
+                WalletFrameController.class,
+                BalanceNotificationListener.class,
+                HoldExpirySweeper.class,
+                BalanceCheckpointJob.class,
+                ReplicaHealthMonitor.class,
+                ShardMapStore.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.fintech_wallet_engine.config;
+
+import com.example.fintech_wallet_engine.ratelimit.RateLimitInterceptor;
+import com.example.fintech_wallet_engine.ratelimit.RateLimiter;
+import com.example.fintech_wallet_engine.replica.ConsistencyTokenInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+
+    @Value("${wallet.replicas.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Value("${wallet.admin.token:}")
+    private String adminToken;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so rejected requests do no other work
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/v1/wallets/frames");
+        registry.addInterceptor(new AdminTokenInterceptor(adminToken)).addPathPatterns("/api/v1/admin/**");
+        if (replicasEnabled) {
+            registry.addInterceptor(new ConsistencyTokenInterceptor()).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.fintech_wallet_engine.controller;
+
+import com.example.fintech_wallet_engine.dto.request.ShardBucketAssignmentRequest;
+import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import com.example.fintech_wallet_engine.dto.response.ShardMapResponse;
+import com.example.fintech_wallet_engine.sharding.ShardMapStore;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * Shards are declared in configuration on every instance; this only moves bucket ranges between them.
+ * Requires the admin token (see AdminTokenInterceptor).
+ */
+@RestController
+@RequestMapping("/api/v1/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.sharding", name = "enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardRegistry shardRegistry;
+    private final ShardMapStore shardMapStore;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<ShardMapResponse>> getShardMap() {
+        return ResponseEntity.ok(ApiResponse.success(toResponse()));
+    }
+
+    @PutMapping("/buckets")
+    public ResponseEntity<ApiResponse<ShardMapResponse>> assignBuckets(@Valid @RequestBody ShardBucketAssignmentRequest request) {
+        shardMapStore.assignBuckets(request.fromBucket(), request.toBucket(), request.shardId());
+        return ResponseEntity.ok(ApiResponse.success(toResponse(), "Shard map updated"));
+    }
+
+    private ShardMapResponse toResponse() {
+        return new ShardMapResponse(
+                new TreeSet<>(shardRegistry.dataSources().keySet()),
+                shardRegistry.bucketCount(),
+                Arrays.stream(shardRegistry.bucketAssignments()).boxed().toList());
+    }
+}
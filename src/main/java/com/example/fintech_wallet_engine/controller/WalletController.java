@@ -1,17 +1,33 @@
 package com.example.fintech_wallet_engine.controller;
 
+import com.example.fintech_wallet_engine.dto.request.AuthorizeHoldRequest;
+import com.example.fintech_wallet_engine.dto.request.CaptureHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.CreateWalletRequest;
+import com.example.fintech_wallet_engine.dto.request.VoidHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.WalletStatusRequest;
 import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
 import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import com.example.fintech_wallet_engine.dto.response.BalanceAsOfResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletHoldResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletResponse;
+import com.example.fintech_wallet_engine.ratelimit.RateLimiter;
+import com.example.fintech_wallet_engine.ratelimit.WalletKeyInBody;
+import com.example.fintech_wallet_engine.service.BalanceHistoryService;
 import com.example.fintech_wallet_engine.service.WalletService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +36,8 @@ import java.util.UUID;
 public class WalletController {
 
     private final WalletService walletService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<WalletResponse>> createWallet(@Valid @RequestBody CreateWalletRequest request) {
@@ -37,24 +55,86 @@ public class WalletController {
         return ResponseEntity.ok(ApiResponse.success(walletService.getWalletByEmail(email)));
     }
 
+    @GetMapping("/id/{id}/balance")
+    public ResponseEntity<ApiResponse<BalanceAsOfResponse>> getBalanceAsOf(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(ApiResponse.success(balanceHistoryService.getBalanceAsOf(id, at)));
+    }
+
+    // Month-end close: one NDJSON line per wallet, streamed as partitions complete
+    @GetMapping(value = "/balances", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getAllBalancesAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            balanceHistoryService.streamBalancesAsOf(at, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     @PostMapping("/credit")
+    @WalletKeyInBody
     public ResponseEntity<ApiResponse<WalletTransactionResponse>> creditWallet(
             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
-            @Valid @RequestBody WalletTransactionRequest request) {
+            @Valid @RequestBody WalletTransactionRequest request,
+            HttpServletRequest servletRequest) {
 
+        rateLimiter.check(servletRequest, request.email());
         WalletTransactionResponse response = walletService.creditWallet(request, idempotencyKey);
         return ResponseEntity.ok(ApiResponse.success(response, "Wallet credited successfully"));
     }
 
     @PostMapping("/debit")
+    @WalletKeyInBody
     public ResponseEntity<ApiResponse<WalletTransactionResponse>> debitWallet(
             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
-            @Valid @RequestBody WalletTransactionRequest request) {
+            @Valid @RequestBody WalletTransactionRequest request,
+            HttpServletRequest servletRequest) {
 
+        rateLimiter.check(servletRequest, request.email());
         WalletTransactionResponse response = walletService.debitWallet(request, idempotencyKey);
         return ResponseEntity.ok(ApiResponse.success(response, "Wallet debited successfully"));
     }
 
+    @PostMapping("/holds/authorize")
+    @WalletKeyInBody
+    public ResponseEntity<ApiResponse<WalletHoldResponse>> authorizeHold(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody AuthorizeHoldRequest request,
+            HttpServletRequest servletRequest) {
+
+        rateLimiter.check(servletRequest, request.email());
+        WalletHoldResponse response = walletService.authorizeHold(request, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold authorized"));
+    }
+
+    @PostMapping("/holds/{reference}/capture")
+    @WalletKeyInBody
+    public ResponseEntity<ApiResponse<WalletHoldResponse>> captureHold(
+            @PathVariable String reference,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CaptureHoldRequest request,
+            HttpServletRequest servletRequest) {
+
+        rateLimiter.check(servletRequest, request.email());
+        WalletHoldResponse response = walletService.captureHold(reference, request, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold captured"));
+    }
+
+    @PostMapping("/holds/{reference}/void")
+    @WalletKeyInBody
+    public ResponseEntity<ApiResponse<WalletHoldResponse>> voidHold(
+            @PathVariable String reference,
+            @Valid @RequestBody VoidHoldRequest request,
+            HttpServletRequest servletRequest) {
+
+        rateLimiter.check(servletRequest, request.email());
+        WalletHoldResponse response = walletService.voidHold(reference, request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold voided"));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<WalletResponse>> updateStatus(
             @PathVariable UUID id,
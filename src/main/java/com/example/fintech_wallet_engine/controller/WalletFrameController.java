@@ -0,0 +1,101 @@
+package com.example.fintech_wallet_engine.controller;
+
+import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+import com.example.fintech_wallet_engine.exception.RateLimitExceededException;
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import com.example.fintech_wallet_engine.ratelimit.RateLimiter;
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.wire.WireProtocol;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+
+/**
+ * Binary alternative to /credit and /debit for internal callers. The request body is a stream of command frames;
+ * each is executed in order and its result frame written back, flushed whenever the client has nothing more queued.
+ * Every frame is its own service call, so it gets its own transaction, persistence context, shard and connection.
+ * Nothing is cached from one frame to the next. This relies on open-in-view staying off: with it on, one
+ * EntityManager would span the whole stream.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/wallets")
+@RequiredArgsConstructor
+public class WalletFrameController {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final WalletService walletService;
+    private final RateLimiter rateLimiter;
+
+    @PostMapping(value = "/frames", consumes = WireProtocol.CONTENT_TYPE, produces = WireProtocol.CONTENT_TYPE)
+    public void frames(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(WireProtocol.CONTENT_TYPE);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(request.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(response.getOutputStream()));
+        RateLimiter.Client client = rateLimiter.clientOf(request);
+
+        WireProtocol.Command command;
+        while ((command = WireProtocol.readCommand(in)) != null) {
+            WireProtocol.writeResult(out, execute(command, client));
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private WireProtocol.Result execute(WireProtocol.Command command, RateLimiter.Client client) {
+        try {
+            // Each frame is a request as far as the limits are concerned, or pipelining would bypass them.
+            // A malformed frame still costs the client a token, but names no wallet to charge
+            boolean hasEmail = command.email() != null && !command.email().isBlank();
+            rateLimiter.check(client, hasEmail && command.amount() >= 1 ? command.email() : null);
+            if (!hasEmail) {
+                return rejected(command, "Email is required");
+            }
+            if (command.amount() < 1) {
+                return rejected(command, "Amount must be greater than 0");
+            }
+
+            WalletTransactionRequest request = new WalletTransactionRequest(command.email(), command.amount(), command.description());
+            WalletTransactionResponse txn = switch (command.op()) {
+                case WireProtocol.OP_CREDIT -> walletService.creditWallet(request, command.idempotencyKey());
+                case WireProtocol.OP_DEBIT -> walletService.debitWallet(request, command.idempotencyKey());
+                default -> null;
+            };
+            if (txn == null) {
+                return rejected(command, "Unknown operation " + command.op());
+            }
+
+            long timestamp = txn.timestamp() != null ? txn.timestamp().atZone(ZONE).toInstant().toEpochMilli() : 0L;
+            return new WireProtocol.Result(command.correlationId(), WireProtocol.STATUS_OK, txn.type(),
+                    txn.amount(), txn.balanceAfter(), timestamp, txn.reference(), null);
+        } catch (RateLimitExceededException e) {
+            return new WireProtocol.Result(command.correlationId(), WireProtocol.STATUS_THROTTLED,
+                    null, 0, 0, 0, null, e.getMessage(), e.getRetryAfterMillis());
+        } catch (WalletEngineException e) {
+            return rejected(command, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Frame {} failed", command.correlationId(), e);
+            return new WireProtocol.Result(command.correlationId(), WireProtocol.STATUS_ERROR,
+                    null, 0, 0, 0, null, "An unexpected error occurred");
+        }
+    }
+
+    private WireProtocol.Result rejected(WireProtocol.Command command, String message) {
+        return new WireProtocol.Result(command.correlationId(), WireProtocol.STATUS_REJECTED, null, 0, 0, 0, null, message);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.fintech_wallet_engine.controller;
+
+import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+import com.example.fintech_wallet_engine.notification.BalanceStreamHub;
+import com.example.fintech_wallet_engine.service.WalletService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Push alternatives to polling GET /id/{id}. Both endpoints are async, so an idle subscriber holds no request thread.
+ */
+@RestController
+@RequestMapping("/api/v1/wallets")
+@RequiredArgsConstructor
+public class WalletStreamController {
+
+    private final WalletService walletService;
+    private final BalanceStreamHub balanceStreamHub;
+
+    @Value("${wallet.stream.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Value("${wallet.stream.long-poll-timeout-ms:25000}")
+    private long longPollTimeoutMs;
+
+    @Value("${wallet.stream.max-replay:1000}")
+    private int maxReplay;
+
+    // Sends the current balance, then every committed credit/debit. Resumes after Last-Event-ID (a transaction reference)
+    @GetMapping(value = "/id/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable UUID id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        WalletResponse wallet = walletService.getWallet(id);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+
+        // Subscribe before replaying so nothing committed in between is lost; clients dedupe on the event id.
+        // If the hub drops a client that fell behind, ending the stream makes it reconnect with its Last-Event-ID
+        Runnable unsubscribe = balanceStreamHub.subscribe(id, event -> send(emitter, event.transaction()), emitter::complete);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        try {
+            emitter.send(SseEmitter.event().name("balance").data(wallet));
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(emitter, id, lastEventId.trim(), wallet);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            unsubscribe.run();
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            // e.g. an unknown Last-Event-ID: the emitter is never returned, so its callbacks would never unsubscribe
+            unsubscribe.run();
+            throw e;
+        }
+        return emitter;
+    }
+
+    // Long-poll fallback: returns as soon as there is anything after `after`, or an empty list on timeout.
+    // Replays at most one page; a client that is further behind catches up by polling again from the last reference
+    @GetMapping("/id/{id}/events")
+    public DeferredResult<ResponseEntity<ApiResponse<List<WalletTransactionResponse>>>> poll(
+            @PathVariable UUID id,
+            @RequestParam(value = "after", required = false) String after) {
+
+        walletService.getWallet(id);
+        DeferredResult<ResponseEntity<ApiResponse<List<WalletTransactionResponse>>>> result =
+                new DeferredResult<>(longPollTimeoutMs, ResponseEntity.ok(ApiResponse.success(List.of())));
+
+        Runnable unsubscribe = balanceStreamHub.subscribe(id,
+                event -> result.setResult(ResponseEntity.ok(ApiResponse.success(List.of(event.transaction())))));
+        result.onCompletion(unsubscribe);
+
+        if (after != null && !after.isBlank()) {
+            try {
+                List<WalletTransactionResponse> missed = walletService.getTransactionsAfter(id, after);
+                if (!missed.isEmpty()) {
+                    result.setResult(ResponseEntity.ok(ApiResponse.success(missed)));
+                }
+            } catch (RuntimeException e) {
+                // The DeferredResult is never returned, so onCompletion would never fire
+                unsubscribe.run();
+                throw e;
+            }
+        }
+        return result;
+    }
+
+    // Pages until caught up. Events sent before the emitter is returned are buffered in memory, so past maxReplay
+    // we stop and send `resync`: the client should take the `balance` event as current instead of the ledger
+    private void replay(SseEmitter emitter, UUID walletId, String after, WalletResponse wallet) throws IOException {
+        String cursor = after;
+        for (int sent = 0; sent < maxReplay; ) {
+            List<WalletTransactionResponse> page = walletService.getTransactionsAfter(walletId, cursor);
+            page.forEach(txn -> send(emitter, txn));
+            if (page.size() < WalletService.REPLAY_PAGE_SIZE) {
+                return;
+            }
+            sent += page.size();
+            cursor = page.getLast().reference();
+        }
+        emitter.send(SseEmitter.event().name("resync").data(wallet));
+    }
+
+    private void send(SseEmitter emitter, WalletTransactionResponse transaction) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(transaction.reference())
+                    .name("transaction")
+                    .data(transaction));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
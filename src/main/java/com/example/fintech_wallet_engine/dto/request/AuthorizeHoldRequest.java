@@ -0,0 +1,25 @@
+package com.example.fintech_wallet_engine.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record AuthorizeHoldRequest(
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    String email,
+
+    @NotNull(message = "Amount is required")
+    @Min(value = 1, message = "Amount must be greater than 0")
+    Long amount,
+
+    String description,
+
+    @Min(value = 1, message = "Hold duration must be at least 1 second")
+    @Max(value = AuthorizeHoldRequest.MAX_EXPIRES_IN_SECONDS, message = "Hold duration cannot exceed 30 days")
+    Long expiresInSeconds
+) {
+    public static final long MAX_EXPIRES_IN_SECONDS = 30L * 24 * 60 * 60;
+}
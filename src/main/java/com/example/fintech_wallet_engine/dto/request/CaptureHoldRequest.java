@@ -0,0 +1,15 @@
+package com.example.fintech_wallet_engine.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record CaptureHoldRequest(
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    String email,
+
+    // Omit to capture the full held amount
+    @Min(value = 1, message = "Amount must be greater than 0")
+    Long amount
+) {}
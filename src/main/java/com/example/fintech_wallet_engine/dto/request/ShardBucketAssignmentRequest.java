@@ -0,0 +1,17 @@
+package com.example.fintech_wallet_engine.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ShardBucketAssignmentRequest(
+        @NotNull(message = "From bucket is required")
+        @Min(value = 0, message = "Bucket must not be negative")
+        Integer fromBucket,
+
+        @NotNull(message = "To bucket is required")
+        @Min(value = 0, message = "Bucket must not be negative")
+        Integer toBucket,
+
+        @NotNull(message = "Shard id is required")
+        Integer shardId
+) {}
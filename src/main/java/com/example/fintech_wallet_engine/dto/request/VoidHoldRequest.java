@@ -0,0 +1,10 @@
+package com.example.fintech_wallet_engine.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public record VoidHoldRequest(
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    String email
+) {}
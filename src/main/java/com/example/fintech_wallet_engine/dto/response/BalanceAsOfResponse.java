@@ -0,0 +1,10 @@
+package com.example.fintech_wallet_engine.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BalanceAsOfResponse(
+        UUID walletId,
+        Long balance,
+        LocalDateTime asOf
+) {}
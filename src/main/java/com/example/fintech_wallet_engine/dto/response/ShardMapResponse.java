@@ -0,0 +1,10 @@
+package com.example.fintech_wallet_engine.dto.response;
+
+import java.util.List;
+import java.util.Set;
+
+public record ShardMapResponse(
+        Set<Integer> shards,
+        int bucketCount,
+        List<Integer> bucketToShard
+) {}
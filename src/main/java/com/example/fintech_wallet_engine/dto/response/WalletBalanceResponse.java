@@ -0,0 +1,9 @@
+package com.example.fintech_wallet_engine.dto.response;
+
+import java.util.UUID;
+
+public record WalletBalanceResponse(
+        UUID walletId,
+        String email,
+        Long balance
+) {}
@@ -0,0 +1,14 @@
+package com.example.fintech_wallet_engine.dto.response;
+
+import com.example.fintech_wallet_engine.model.WalletEnums.HoldStatus;
+import java.time.LocalDateTime;
+
+public record WalletHoldResponse(
+        String reference,
+        Long amount,
+        Long capturedAmount,
+        HoldStatus status,
+        Long availableBalance,
+        LocalDateTime expiresAt,
+        LocalDateTime createdAt
+) {}
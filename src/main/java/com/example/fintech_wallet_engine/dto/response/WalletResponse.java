@@ -8,6 +8,7 @@ public record WalletResponse(
         UUID id,
         String email,
         Long balance,
+        Long availableBalance,
         WalletStatus status,
         LocalDateTime createdAt
-) {}
\ No newline at end of file
+) {}
@@ -0,0 +1,8 @@
+package com.example.fintech_wallet_engine.exception;
+
+public class AdminAccessDeniedException extends WalletEngineException {
+
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+}
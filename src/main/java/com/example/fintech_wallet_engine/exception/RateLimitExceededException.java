@@ -0,0 +1,19 @@
+package com.example.fintech_wallet_engine.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends WalletEngineException {
+
+    // Both rounded up so an honest client never retries too early
+    private final long retryAfterSeconds;
+    private final long retryAfterMillis;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, Math.ceilDiv(retryAfter.toNanos(), Duration.ofSeconds(1).toNanos()));
+        this.retryAfterMillis = Math.max(1, Math.ceilDiv(retryAfter.toNanos(), Duration.ofMillis(1).toNanos()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.fintech_wallet_engine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A wallet's closing ledger balance at the end of a day. Written once by the checkpoint job, never updated.
+ */
+@Entity
+@Table(name = "balance_checkpoints",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_checkpoint_wallet_date", columnNames = {"wallet_id", "checkpoint_date"})})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private UUID walletId;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
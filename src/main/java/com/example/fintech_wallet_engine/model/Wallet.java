@@ -32,6 +32,11 @@ public class Wallet {
     @Setter(AccessLevel.PRIVATE)
     private Long balance;
 
+    // Sum of open holds, kept in step with every authorize/capture/void so available balance needs no hold scan
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    @Setter(AccessLevel.PRIVATE)
+    private Long heldBalance;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Setter(AccessLevel.PUBLIC)
@@ -48,6 +53,7 @@ public class Wallet {
     public Wallet(String email) {
         this.email = email;
         this.balance = 0L;
+        this.heldBalance = 0L;
         this.status = WalletStatus.ACTIVE;
     }
 
@@ -68,9 +74,45 @@ public class Wallet {
         if (amount <= 0) {
             throw new WalletEngineException("Debit amount must be positive");
         }
-        if (this.balance < amount) {
+        if (getAvailableBalance() < amount) {
             throw new WalletEngineException("Insufficient funds");
         }
         this.balance -= amount;
     }
+
+    public Long getAvailableBalance() {
+        return this.balance - this.heldBalance;
+    }
+
+    public void placeHold(Long amount) {
+        if (this.status != WalletStatus.ACTIVE) {
+            throw new WalletEngineException("Wallet is inactive");
+        }
+        if (amount <= 0) {
+            throw new WalletEngineException("Hold amount must be positive");
+        }
+        if (getAvailableBalance() < amount) {
+            throw new WalletEngineException("Insufficient funds");
+        }
+        this.heldBalance += amount;
+    }
+
+    public void captureHold(Long heldAmount, Long captureAmount) {
+        if (this.status != WalletStatus.ACTIVE) {
+            throw new WalletEngineException("Wallet is inactive");
+        }
+        if (captureAmount <= 0 || captureAmount > heldAmount) {
+            throw new WalletEngineException("Capture amount must be between 1 and the held amount");
+        }
+        // Any uncaptured remainder goes back to the available balance
+        this.heldBalance -= heldAmount;
+        this.balance -= captureAmount;
+    }
+
+    public void releaseHold(Long heldAmount) {
+        if (heldAmount > this.heldBalance) {
+            throw new WalletEngineException("Hold exceeds held balance");
+        }
+        this.heldBalance -= heldAmount;
+    }
 }
\ No newline at end of file
@@ -13,6 +13,13 @@ public class WalletEnums {
         DEACTIVATED
     }
 
+    public enum HoldStatus {
+        ACTIVE,
+        CAPTURED,
+        VOIDED,
+        EXPIRED
+    }
+
     public enum WalletActionType {
         CREATE_WALLET,
         CREDIT,
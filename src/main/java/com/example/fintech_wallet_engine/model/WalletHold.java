@@ -0,0 +1,56 @@
+package com.example.fintech_wallet_engine.model;
+
+import com.example.fintech_wallet_engine.model.WalletEnums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "holds", indexes = {
+        @Index(name = "idx_hold_wallet_status", columnList = "wallet_id, status"),
+        @Index(name = "idx_hold_status_expiry", columnList = "status, expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id", nullable = false)
+    private Wallet wallet;
+
+    @Column(nullable = false, unique = true)
+    private String reference;
+
+    @Column(nullable = false)
+    private Long amount;
+
+    private Long capturedAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
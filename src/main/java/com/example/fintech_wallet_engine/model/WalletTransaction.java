@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {@Index(name = "idx_txn_wallet_created", columnList = "wallet_id, createdAt")})
 @Getter
 @Setter
 @NoArgsConstructor
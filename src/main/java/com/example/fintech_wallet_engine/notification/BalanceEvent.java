@@ -0,0 +1,11 @@
+package com.example.fintech_wallet_engine.notification;
+
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+
+import java.util.UUID;
+
+/**
+ * A committed balance change, as handed to local subscribers.
+ */
+public record BalanceEvent(UUID walletId, WalletTransactionResponse transaction) {
+}
@@ -0,0 +1,22 @@
+package com.example.fintech_wallet_engine.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues a NOTIFY on the current transaction's connection. Postgres only delivers it if the transaction commits,
+ * so subscribers never see a balance that was rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceEventPublisher {
+
+    public static final String CHANNEL = "wallet_balance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void publish(BalanceNotification notification) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, notification.toPayload());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.fintech_wallet_engine.notification;
+
+import java.util.UUID;
+
+/**
+ * What goes over NOTIFY: just enough to find the transaction. Postgres caps a payload at 8000 bytes and
+ * descriptions are unbounded, so receivers load the full transaction themselves.
+ */
+public record BalanceNotification(UUID walletId, String reference) {
+
+    public String toPayload() {
+        return walletId + "|" + reference;
+    }
+
+    public static BalanceNotification fromPayload(String payload) {
+        String[] parts = payload.split("\\|", 2);
+        if (parts.length != 2 || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Malformed balance notification: " + payload);
+        }
+        return new BalanceNotification(UUID.fromString(parts[0]), parts[1]);
+    }
+}
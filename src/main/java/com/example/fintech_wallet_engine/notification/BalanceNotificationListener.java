@@ -0,0 +1,115 @@
+package com.example.fintech_wallet_engine.notification;
+
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LISTENs on every database that takes wallet writes and hands each notification to the local hub,
+ * so a subscriber on any instance sees writes committed through any other instance.
+ * Holds one pooled connection per database for as long as the application runs.
+ */
+@Slf4j
+@Component
+public class BalanceNotificationListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final BalanceStreamHub hub;
+    private final WalletService walletService;
+    private final List<DataSource> sources;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public BalanceNotificationListener(BalanceStreamHub hub, WalletService walletService, DataSource dataSource,
+                                       ObjectProvider<ShardRegistry> shardRegistry) {
+        this.hub = hub;
+        this.walletService = walletService;
+        ShardRegistry registry = shardRegistry.getIfAvailable();
+        // Outside a read-only transaction the routing proxy resolves to the primary, which is where NOTIFY lands
+        this.sources = registry != null ? List.copyOf(registry.dataSources().values()) : List.of(dataSource);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < sources.size(); i++) {
+            DataSource source = sources.get(i);
+            workers.add(Thread.ofPlatform().daemon().name("balance-listener-" + i).start(() -> listen(source)));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen(DataSource source) {
+        while (running) {
+            try (Connection connection = source.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BalanceEventPublisher.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Balance listener lost its connection, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            BalanceNotification notification = BalanceNotification.fromPayload(payload);
+            // Most instances have no subscriber for a given wallet; only those that do pay for the lookup
+            if (hub.hasSubscribers(notification.walletId())) {
+                hub.dispatch(new BalanceEvent(notification.walletId(),
+                        walletService.getTransaction(notification.walletId(), notification.reference())));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping malformed balance notification: {}", e.getMessage());
+        } catch (WalletEngineException | DataAccessException e) {
+            log.warn("Dropping balance notification {}: {}", payload, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.fintech_wallet_engine.notification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory fan-out of balance events to the subscribers connected to this instance.
+ * Subscribers are plain callbacks; idle ones cost a map entry, not a thread.
+ * Dispatch only enqueues: each subscriber drains its own queue on a virtual thread, in order, so one slow
+ * client socket never stalls the LISTEN loop or the other subscribers.
+ */
+@Component
+public class BalanceStreamHub {
+
+    // A client this far behind is not keeping up; dropping it lets it reconnect and resume from its last event id
+    static final int MAX_PENDING = 256;
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public BalanceStreamHub() {
+        this(task -> Thread.ofVirtual().name("balance-subscriber").start(task));
+    }
+
+    BalanceStreamHub(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Runnable subscribe(UUID walletId, Consumer<BalanceEvent> subscriber) {
+        return subscribe(walletId, subscriber, () -> { });
+    }
+
+    /**
+     * @param onDropped called once if the hub drops the subscriber because it failed or fell too far behind
+     */
+    public Runnable subscribe(UUID walletId, Consumer<BalanceEvent> subscriber, Runnable onDropped) {
+        Subscription subscription = new Subscription(walletId, subscriber, onDropped);
+        // compute() rather than computeIfAbsent().add() so we never add to a set unsubscribe just dropped
+        subscribers.compute(walletId, (id, set) -> {
+            Set<Subscription> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+        return () -> unsubscribe(subscription);
+    }
+
+    public void dispatch(BalanceEvent event) {
+        Set<Subscription> walletSubscribers = subscribers.get(event.walletId());
+        if (walletSubscribers == null) {
+            return;
+        }
+        for (Subscription subscription : walletSubscribers) {
+            subscription.offer(event);
+        }
+    }
+
+    public boolean hasSubscribers(UUID walletId) {
+        return subscribers.containsKey(walletId);
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.walletId, (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscription {
+
+        private final UUID walletId;
+        private final Consumer<BalanceEvent> consumer;
+        private final Runnable onDropped;
+        private final Queue<BalanceEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+
+        private Subscription(UUID walletId, Consumer<BalanceEvent> consumer, Runnable onDropped) {
+            this.walletId = walletId;
+            this.consumer = consumer;
+            this.onDropped = onDropped;
+        }
+
+        private void offer(BalanceEvent event) {
+            if (dropped.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING) {
+                drop();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                BalanceEvent event;
+                while (!dropped.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        consumer.accept(event);
+                    } catch (RuntimeException e) {
+                        // A dead connection must not keep receiving
+                        drop();
+                    }
+                }
+                draining.set(false);
+                // An offer that raced the reset above saw draining == true and left the event for us
+            } while (!dropped.get() && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void drop() {
+            if (dropped.compareAndSet(false, true)) {
+                unsubscribe(this);
+                pending.clear();
+                onDropped.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import com.example.fintech_wallet_engine.config.RateLimitProperties;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded map of buckets sharing one limit. Reaching the bound schedules a sweep off the request path that trims
+ * the map to a low watermark, so the cost of a full scan is paid once per many new keys rather than on each one.
+ * Idle (i.e. full) buckets go first; after that the least-used ones, so a caller rotating keys evicts its own
+ * fresh buckets before a busy client's. While a sweep runs the map may briefly overshoot the bound.
+ */
+final class BucketMap {
+
+    private static final double LOW_WATERMARK = 0.9;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Executor evictor;
+    private final int maxBuckets;
+    private final int lowWatermark;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    BucketMap(RateLimitProperties.Limit limit, int maxBuckets) {
+        this(limit, maxBuckets, task -> Thread.ofVirtual().name("ratelimit-evictor").start(task));
+    }
+
+    BucketMap(RateLimitProperties.Limit limit, int maxBuckets, Executor evictor) {
+        this.evictor = evictor;
+        this.maxBuckets = maxBuckets;
+        this.lowWatermark = Math.max(1, (int) (maxBuckets * LOW_WATERMARK));
+        this.intervalNanos = (long) (1_000_000_000L / limit.ratePerSecond());
+        this.burstNanos = intervalNanos * Math.max(1, limit.burst());
+    }
+
+    long tryAcquire(String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && evicting.compareAndSet(false, true)) {
+                evictor.execute(() -> evict(nowNanos));
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(nowNanos));
+        }
+        return bucket.tryAcquire(nowNanos, intervalNanos, burstNanos);
+    }
+
+    // A bucket evicted since the acquire was idle, so there is nothing to give back
+    void refund(String key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(intervalNanos);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long nowNanos) {
+        try {
+            buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+            int excess = buckets.size() - lowWatermark;
+            if (excess <= 0) {
+                return;
+            }
+            // The bucket furthest ahead of real time has been used hardest; those nearest to full lose the least.
+            // Snapshot the arrival times so concurrent acquires cannot reorder the sort under us
+            List<Candidate> busiestLast = new ArrayList<>(buckets.size());
+            buckets.forEach((key, bucket) -> busiestLast.add(new Candidate(key, bucket, bucket.theoreticalArrival())));
+            busiestLast.sort(Comparator.comparingLong(Candidate::theoreticalArrival));
+            for (int i = 0; i < excess && i < busiestLast.size(); i++) {
+                buckets.remove(busiestLast.get(i).key(), busiestLast.get(i).bucket());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Candidate(String key, TokenBucket bucket, long theoreticalArrival) {}
+}
@@ -0,0 +1,37 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Applies the per-client limit, together with the per-wallet limit when the wallet is in the path.
+ * Handlers marked {@link WalletKeyInBody} are skipped; they check both limits once the body is parsed.
+ * The frame endpoint is not intercepted: one request carries many commands, so it charges both limits per frame.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(WalletKeyInBody.class)) {
+            return true;
+        }
+
+        String walletKey = null;
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            Object id = variables.get("id");
+            Object email = variables.get("email");
+            walletKey = id != null ? id.toString() : email != null ? email.toString() : null;
+        }
+        rateLimiter.check(request, walletKey);
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import com.example.fintech_wallet_engine.config.RateLimitProperties;
+import com.example.fintech_wallet_engine.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-client and per-wallet limits, checked before any database work. Throws {@link RateLimitExceededException},
+ * which the exception handler turns into a 429 with Retry-After.
+ * A client is its remote address; a client id header only splits that address's budget further, so sending a
+ * fresh id never buys a fresh bucket.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final String clientHeader;
+    private final BucketMap clientBuckets;
+    private final BucketMap clientIdBuckets;
+    private final BucketMap walletBuckets;
+    private final Counter clientRejections;
+    private final Counter walletRejections;
+
+    public RateLimiter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.enabled();
+        this.clientHeader = properties.clientHeader();
+        this.clientBuckets = new BucketMap(properties.client(), properties.maxBuckets());
+        this.clientIdBuckets = new BucketMap(properties.clientId(), properties.maxBuckets());
+        this.walletBuckets = new BucketMap(properties.wallet(), properties.maxBuckets());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.clientRejections = registry != null ? rejectionCounter(registry, "client") : null;
+        this.walletRejections = registry != null ? rejectionCounter(registry, "wallet") : null;
+    }
+
+    /**
+     * @param address the remote address; behind a proxy, set server.forward-headers-strategy so it is the caller's
+     * @param id      the client id header, or null
+     */
+    public record Client(String address, String id) {}
+
+    public Client clientOf(HttpServletRequest request) {
+        String id = request.getHeader(clientHeader);
+        return new Client(request.getRemoteAddr(), id != null && !id.isBlank() ? id : null);
+    }
+
+    public void check(HttpServletRequest request, String walletKey) {
+        check(clientOf(request), walletKey);
+    }
+
+    /**
+     * Charges the client and, if given, the wallet. A token is taken from every bucket or from none, so a request
+     * rejected by one limit does not use up the others.
+     * Email and id are bucketed separately; write paths are keyed by email.
+     */
+    public void check(Client client, String walletKey) {
+        if (!enabled) {
+            return;
+        }
+        long nowNanos = System.nanoTime();
+        List<Charge> charged = new ArrayList<>(3);
+        charge(charged, new Charge(clientBuckets, client.address(), clientRejections, "Too many requests"), nowNanos);
+        if (client.id() != null) {
+            charge(charged, new Charge(clientIdBuckets, client.address() + "/" + client.id(), clientRejections,
+                    "Too many requests"), nowNanos);
+        }
+        if (walletKey != null) {
+            charge(charged, new Charge(walletBuckets, walletKey.toLowerCase(Locale.ROOT), walletRejections,
+                    "Too many requests for this wallet"), nowNanos);
+        }
+    }
+
+    private void charge(List<Charge> charged, Charge charge, long nowNanos) {
+        long waitNanos = charge.buckets().tryAcquire(charge.key(), nowNanos);
+        if (waitNanos > 0) {
+            charged.forEach(previous -> previous.buckets().refund(previous.key()));
+            if (charge.rejections() != null) {
+                charge.rejections().increment();
+            }
+            throw new RateLimitExceededException(charge.message(), Duration.ofNanos(waitNanos));
+        }
+        charged.add(charge);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String scope) {
+        return Counter.builder("wallet.ratelimit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(registry);
+    }
+
+    private record Charge(BucketMap buckets, String key, Counter rejections, String message) {}
+}
@@ -0,0 +1,49 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in GCRA form: the whole state is the "theoretical arrival time" of the next request,
+ * so acquiring a token is a single CAS with no lock and no refill bookkeeping.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @param intervalNanos time to earn one token (1 / rate)
+     * @param burstNanos    interval * burst, i.e. how far ahead of real time the bucket may run
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long burstNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a token taken by tryAcquire when another limit on the same request rejected it
+    void refund(long intervalNanos) {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    long theoreticalArrival() {
+        return theoreticalArrival.get();
+    }
+
+    // An idle bucket is full again, so dropping it loses no state
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose wallet is named in the request body. {@link RateLimitInterceptor} leaves such requests to
+ * the handler, which checks the client and wallet limits together once the body is parsed.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WalletKeyInBody {
+}
@@ -0,0 +1,49 @@
+package com.example.fintech_wallet_engine.replica;
+
+import com.example.fintech_wallet_engine.controller.WalletController;
+import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stamps successful wallet write responses with the primary's WAL position. The write has committed by the time
+ * the body is written, so a replica that has replayed this far is guaranteed to see it.
+ * The token is best effort: if the primary cannot be asked, the header is left off and the client falls back to
+ * reading whatever replica it gets, rather than the committed write being reported as a failure.
+ */
+@Slf4j
+@RestControllerAdvice(assignableTypes = WalletController.class)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "wallet.replicas", name = "enabled", havingValue = "true")
+public class ConsistencyTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicaHealthMonitor healthMonitor;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request.getMethod() != HttpMethod.GET && body instanceof ApiResponse<?> apiResponse && apiResponse.isSuccess()) {
+            try {
+                response.getHeaders().set(ReadConsistency.TOKEN_HEADER, Lsn.format(healthMonitor.currentPrimaryLsn()));
+            } catch (RuntimeException e) {
+                log.warn("Could not read primary WAL position; omitting consistency token: {}", e.getMessage());
+            }
+        }
+        return body;
+    }
+}
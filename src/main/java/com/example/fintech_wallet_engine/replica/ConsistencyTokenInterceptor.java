@@ -0,0 +1,30 @@
+package com.example.fintech_wallet_engine.replica;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Picks up the consistency token a client got back from an earlier write, so its reads skip replicas that are behind it.
+ */
+public class ConsistencyTokenInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(ReadConsistency.TOKEN_HEADER);
+        if (token != null && !token.isBlank()) {
+            try {
+                ReadConsistency.require(Lsn.parse(token.trim()));
+            } catch (IllegalArgumentException e) {
+                // A malformed token just means no read-your-writes guarantee
+                ReadConsistency.clear();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadConsistency.clear();
+    }
+}
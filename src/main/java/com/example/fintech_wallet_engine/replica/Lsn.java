@@ -0,0 +1,24 @@
+package com.example.fintech_wallet_engine.replica;
+
+/**
+ * Postgres log sequence numbers are printed as "hi/lo" in hex. We carry them around as a single long.
+ */
+public final class Lsn {
+
+    private Lsn() {
+    }
+
+    public static long parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        long hi = Long.parseLong(text.substring(0, slash), 16);
+        long lo = Long.parseLong(text.substring(slash + 1), 16);
+        return (hi << 32) | lo;
+    }
+
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.fintech_wallet_engine.replica;
+
+/**
+ * The minimum primary LSN the current request must observe (read-your-writes). Unset means any healthy replica will do.
+ */
+public final class ReadConsistency {
+
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static long requiredLsn() {
+        Long lsn = REQUIRED_LSN.get();
+        return lsn != null ? lsn : 0L;
+    }
+
+    public static void require(long lsn) {
+        REQUIRED_LSN.set(lsn);
+    }
+
+    public static void clear() {
+        REQUIRED_LSN.remove();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.fintech_wallet_engine.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Samples the primary's WAL position and each replica's replay position so routing never has to query them inline.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final JdbcTemplate primary;
+    private final List<ReplicaNode> replicas;
+
+    public ReplicaHealthMonitor(DataSource primary, List<ReplicaNode> replicas) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+    }
+
+    public long currentPrimaryLsn() {
+        return Lsn.parse(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.replicas.health-check-interval-ms:1000}")
+    public void refresh() {
+        long primaryLsn;
+        try {
+            primaryLsn = currentPrimaryLsn();
+        } catch (RuntimeException e) {
+            log.warn("Could not read primary WAL position: {}", e.getMessage());
+            return;
+        }
+
+        for (ReplicaNode node : replicas) {
+            try {
+                String replay = new JdbcTemplate(node.getDataSource())
+                        .queryForObject("SELECT pg_last_wal_replay_lsn()::text", String.class);
+                if (replay == null) {
+                    // Not in recovery, so not actually a replica
+                    node.markDown();
+                    continue;
+                }
+                long replayLsn = Lsn.parse(replay);
+                node.markHealthy(replayLsn, Math.max(0, primaryLsn - replayLsn));
+            } catch (RuntimeException e) {
+                if (node.isHealthy()) {
+                    log.warn("Replica {} is down: {}", node.getName(), e.getMessage());
+                }
+                node.markDown();
+            }
+        }
+    }
+}
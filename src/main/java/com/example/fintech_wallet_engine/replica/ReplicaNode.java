@@ -0,0 +1,34 @@
+package com.example.fintech_wallet_engine.replica;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica plus the last health sample taken by {@link ReplicaHealthMonitor}.
+ */
+@Getter
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long replayLsn;
+    private volatile long lagBytes = Long.MAX_VALUE;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    void markHealthy(long replayLsn, long lagBytes) {
+        this.replayLsn = replayLsn;
+        this.lagBytes = lagBytes;
+        this.healthy = true;
+    }
+
+    void markDown() {
+        this.healthy = false;
+        this.lagBytes = Long.MAX_VALUE;
+    }
+}
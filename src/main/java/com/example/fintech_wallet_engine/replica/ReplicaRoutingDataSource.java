@@ -0,0 +1,60 @@
+package com.example.fintech_wallet_engine.replica;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica that is healthy, within the lag budget and has replayed
+ * at least {@link ReadConsistency#requiredLsn()}; everything else goes to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known when the connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final long maxLagBytes;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaNode> replicas, long maxLagBytes) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagBytes = maxLagBytes;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return primary;
+        }
+
+        long requiredLsn = ReadConsistency.requiredLsn();
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode node = replicas.get((start + i) % size);
+            if (node.isHealthy() && node.getLagBytes() <= maxLagBytes && node.getReplayLsn() >= requiredLsn) {
+                return node.getDataSource();
+            }
+        }
+        return primary;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.fintech_wallet_engine.repository;
+
+import com.example.fintech_wallet_engine.model.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, UUID> {
+
+    Optional<BalanceCheckpoint> findTopByWalletIdAndCheckpointDateBeforeOrderByCheckpointDateDesc(UUID walletId, LocalDate date);
+
+    @Query("SELECT MAX(c.checkpointDate) FROM BalanceCheckpoint c")
+    Optional<LocalDate> findLatestCheckpointDate();
+
+    // Closing balance = last transaction of the day, else yesterday's checkpoint, else the last transaction ever
+    // (first run, before any checkpoint exists), else 0
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_checkpoints (id, wallet_id, checkpoint_date, balance, created_at)
+            SELECT gen_random_uuid(), w.id, :day, COALESCE(
+                (SELECT t.balance_after FROM transactions t
+                  WHERE t.wallet_id = w.id AND t.created_at >= :dayStart AND t.created_at < :dayEnd
+                  ORDER BY t.created_at DESC LIMIT 1),
+                (SELECT c.balance FROM balance_checkpoints c
+                  WHERE c.wallet_id = w.id AND c.checkpoint_date = :previousDay),
+                (SELECT t.balance_after FROM transactions t
+                  WHERE t.wallet_id = w.id AND t.created_at < :dayEnd
+                  ORDER BY t.created_at DESC LIMIT 1),
+                0), now()
+            FROM wallets w
+            WHERE w.created_at < :dayEnd
+            ON CONFLICT (wallet_id, checkpoint_date) DO NOTHING
+            """, nativeQuery = true)
+    int insertCheckpointsForDay(LocalDate day, LocalDate previousDay, LocalDateTime dayStart, LocalDateTime dayEnd);
+}
@@ -0,0 +1,24 @@
+package com.example.fintech_wallet_engine.repository;
+
+import com.example.fintech_wallet_engine.model.WalletEnums.HoldStatus;
+import com.example.fintech_wallet_engine.model.WalletHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WalletHoldRepository extends JpaRepository<WalletHold, UUID> {
+
+    Optional<WalletHold> findByReference(String reference);
+
+    @Query("SELECT DISTINCT h.wallet.id FROM WalletHold h WHERE h.status = :status AND h.expiresAt < :now")
+    List<UUID> findWalletIdsWithHoldsExpiredBefore(HoldStatus status, LocalDateTime now, Pageable pageable);
+
+    List<WalletHold> findByWalletIdAndStatusAndExpiresAtBefore(UUID walletId, HoldStatus status, LocalDateTime now);
+}
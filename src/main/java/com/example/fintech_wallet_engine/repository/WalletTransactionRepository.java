@@ -1,9 +1,13 @@
 package com.example.fintech_wallet_engine.repository;
 
 import com.example.fintech_wallet_engine.model.WalletTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +15,14 @@ import java.util.UUID;
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, UUID> {
 
     Optional<WalletTransaction> findByReference(String reference);
+
+    // Keyset on (createdAt, id): timestamps alone are not unique, so rows sharing the cursor's instant are not skipped
+    @Query("SELECT t FROM WalletTransaction t WHERE t.wallet.id = :walletId "
+            + "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) "
+            + "ORDER BY t.createdAt, t.id")
+    List<WalletTransaction> findPageAfter(UUID walletId, LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    Optional<WalletTransaction> findTopByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(UUID walletId, LocalDateTime from, LocalDateTime to);
+
+    Optional<WalletTransaction> findTopByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(UUID walletId, LocalDateTime at);
 }
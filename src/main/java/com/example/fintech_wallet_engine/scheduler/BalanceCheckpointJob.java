@@ -0,0 +1,37 @@
+package com.example.fintech_wallet_engine.scheduler;
+
+import com.example.fintech_wallet_engine.service.BalanceHistoryService;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Writes end-of-day balance checkpoints for every day since the last one, up to yesterday.
+ * Each day is a single set-based INSERT per shard; re-running is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceCheckpointJob {
+
+    private final BalanceHistoryService balanceHistoryService;
+    private final ShardRouter shardRouter;
+
+    @Scheduled(cron = "${wallet.checkpoints.cron:0 15 0 * * *}")
+    public void run() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        shardRouter.forEachShard(() -> {
+            LocalDate day = balanceHistoryService.getLatestCheckpointDate()
+                    .map(last -> last.plusDays(1))
+                    .orElse(yesterday);
+            for (; !day.isAfter(yesterday); day = day.plusDays(1)) {
+                int written = balanceHistoryService.writeCheckpoints(day);
+                log.info("Wrote {} balance checkpoints for {}", written, day);
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.fintech_wallet_engine.scheduler;
+
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Returns the funds of expired holds to the available balance, one short transaction per wallet.
+ * A wallet that cannot be locked is skipped and retried on the next sweep; it never holds up the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldExpirySweeper {
+
+    private final WalletService walletService;
+    private final ShardRouter shardRouter;
+
+    @Value("${wallet.holds.expiry-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${wallet.holds.expiry-interval-ms:30000}")
+    public void sweep() {
+        shardRouter.forEachShard(() -> {
+            try {
+                sweepShard();
+            } catch (RuntimeException e) {
+                log.warn("Hold expiry sweep failed on this shard: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void sweepShard() {
+        List<UUID> walletIds;
+        int failed;
+        do {
+            walletIds = walletService.findWalletsWithExpiredHolds(batchSize);
+            int released = 0;
+            failed = 0;
+            for (UUID walletId : walletIds) {
+                try {
+                    released += walletService.expireHolds(walletId);
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("Could not expire holds for wallet {}: {}", walletId, e.getMessage());
+                }
+            }
+            if (released > 0) {
+                log.info("Released {} expired holds", released);
+            }
+            // A failed wallet would come back in the next batch, so stop paging and leave it for the next sweep
+        } while (walletIds.size() >= batchSize && failed == 0);
+    }
+}
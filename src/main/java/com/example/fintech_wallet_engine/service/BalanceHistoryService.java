@@ -0,0 +1,229 @@
+package com.example.fintech_wallet_engine.service;
+
+import com.example.fintech_wallet_engine.dto.response.BalanceAsOfResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletBalanceResponse;
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import com.example.fintech_wallet_engine.model.BalanceCheckpoint;
+import com.example.fintech_wallet_engine.model.Wallet;
+import com.example.fintech_wallet_engine.model.WalletTransaction;
+import com.example.fintech_wallet_engine.repository.BalanceCheckpointRepository;
+import com.example.fintech_wallet_engine.repository.WalletRepository;
+import com.example.fintech_wallet_engine.repository.WalletTransactionRepository;
+import com.example.fintech_wallet_engine.sharding.ShardContext;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Balance-as-of queries. End-of-day checkpoints bound the transaction seek to the days since the last checkpoint.
+ */
+@Service
+public class BalanceHistoryService {
+
+    // Same resolution as a single lookup, done for every wallet in one partition of one database: the latest checkpoint
+    // before at's day, then the last transaction from the day after it up to at. Without a checkpoint the seek is unbounded
+    static final String BULK_AS_OF_SQL = """
+            SELECT w.id, w.email, COALESCE(
+                (SELECT t.balance_after FROM transactions t
+                  WHERE t.wallet_id = w.id AND t.created_at <= ?
+                    AND t.created_at >= COALESCE((c.checkpoint_date + 1)::timestamp, '-infinity'::timestamp)
+                  ORDER BY t.created_at DESC LIMIT 1),
+                c.balance,
+                0)
+            FROM wallets w
+            LEFT JOIN LATERAL (
+                SELECT bc.checkpoint_date, bc.balance FROM balance_checkpoints bc
+                 WHERE bc.wallet_id = w.id AND bc.checkpoint_date < ?
+                 ORDER BY bc.checkpoint_date DESC LIMIT 1) c ON true
+            WHERE w.created_at <= ? AND (hashtext(w.id::text) & 2147483647) % ? = ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final ShardRouter shardRouter;
+    private final List<DataSource> bulkSources;
+    private final JsonMapper jsonMapper;
+    // Exports borrow from the same pools as live traffic; this caps how many connections they hold at once,
+    // across all exports running on this instance
+    private final Semaphore bulkConnections;
+
+    @Value("${wallet.checkpoints.bulk-parallelism:4}")
+    private int bulkParallelism = 4;
+
+    public BalanceHistoryService(WalletRepository walletRepository,
+                                 WalletTransactionRepository transactionRepository,
+                                 BalanceCheckpointRepository checkpointRepository,
+                                 ShardRouter shardRouter,
+                                 DataSource dataSource,
+                                 ObjectProvider<ShardRegistry> shardRegistry,
+                                 JsonMapper jsonMapper,
+                                 @Value("${wallet.checkpoints.bulk-max-connections:4}") int bulkMaxConnections) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.shardRouter = shardRouter;
+        ShardRegistry registry = shardRegistry.getIfAvailable();
+        this.bulkSources = registry != null ? List.copyOf(registry.dataSources().values()) : List.of(dataSource);
+        this.jsonMapper = jsonMapper;
+        this.bulkConnections = new Semaphore(bulkMaxConnections, true);
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceAsOfResponse getBalanceAsOf(UUID walletId, LocalDateTime at) {
+        try (ShardContext.Scope ignored = shardRouter.routeById(walletId)) {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+            if (wallet.getCreatedAt() != null && wallet.getCreatedAt().isAfter(at)) {
+                return new BalanceAsOfResponse(walletId, 0L, at);
+            }
+
+            Optional<BalanceCheckpoint> checkpoint = checkpointRepository
+                    .findTopByWalletIdAndCheckpointDateBeforeOrderByCheckpointDateDesc(walletId, at.toLocalDate());
+
+            Long balance;
+            if (checkpoint.isPresent()) {
+                LocalDateTime since = checkpoint.get().getCheckpointDate().plusDays(1).atStartOfDay();
+                balance = transactionRepository
+                        .findTopByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(walletId, since, at)
+                        .map(WalletTransaction::getBalanceAfter)
+                        .orElse(checkpoint.get().getBalance());
+            } else {
+                // No checkpoint yet (new wallet or job never ran): fall back to an unbounded index seek
+                balance = transactionRepository
+                        .findTopByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(walletId, at)
+                        .map(WalletTransaction::getBalanceAfter)
+                        .orElse(0L);
+            }
+            return new BalanceAsOfResponse(walletId, balance, at);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> getLatestCheckpointDate() {
+        return checkpointRepository.findLatestCheckpointDate();
+    }
+
+    @Transactional
+    public int writeCheckpoints(LocalDate day) {
+        return checkpointRepository.insertCheckpointsForDay(
+                day, day.minusDays(1), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Writes one NDJSON line per wallet with its balance at {@code at}. Each database is split into partitions
+     * queried concurrently with server-side cursors, so rows are streamed rather than collected; line order is not defined.
+     * Partitions wait for one of {@code wallet.checkpoints.bulk-max-connections} permits before taking a connection.
+     */
+    public void streamBalancesAsOf(LocalDateTime at, Writer out) {
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (DataSource source : bulkSources) {
+                for (int partition = 0; partition < bulkParallelism; partition++) {
+                    int p = partition;
+                    futures.add(executor.submit(() -> streamPartition(source, at, p, out)));
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Stop the other partitions before the executor waits on them
+                    futures.forEach(f -> f.cancel(true));
+                    if (e.getCause() instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    throw new IllegalStateException("Balance export failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletEngineException("Balance export interrupted");
+        }
+    }
+
+    private Void streamPartition(DataSource source, LocalDateTime at, int partition, Writer out)
+            throws SQLException, InterruptedException {
+        bulkConnections.acquire();
+        try {
+            return queryPartition(source, at, partition, out);
+        } finally {
+            bulkConnections.release();
+        }
+    }
+
+    private Void queryPartition(DataSource source, LocalDateTime at, int partition, Writer out) throws SQLException {
+        Timestamp atTs = Timestamp.valueOf(at);
+        try (Connection connection = source.getConnection()) {
+            // Postgres only honours fetch size inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement ps = connection.prepareStatement(BULK_AS_OF_SQL)) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setTimestamp(1, atTs);
+                ps.setObject(2, at.toLocalDate());
+                ps.setTimestamp(3, atTs);
+                ps.setInt(4, bulkParallelism);
+                ps.setInt(5, partition);
+
+                StringBuilder chunk = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    int rows = 0;
+                    while (rs.next()) {
+                        chunk.append(jsonMapper.writeValueAsString(new WalletBalanceResponse(
+                                rs.getObject(1, UUID.class), rs.getString(2), rs.getLong(3)))).append('\n');
+                        if (++rows % FETCH_SIZE == 0) {
+                            write(out, chunk);
+                        }
+                    }
+                }
+                write(out, chunk);
+            } finally {
+                connection.rollback();
+            }
+        }
+        return null;
+    }
+
+    private void write(Writer out, StringBuilder chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (out) {
+                out.write(chunk.toString());
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.setLength(0);
+    }
+}
@@ -1,125 +1,314 @@
 package com.example.fintech_wallet_engine.service;
 
+import com.example.fintech_wallet_engine.dto.request.AuthorizeHoldRequest;
+import com.example.fintech_wallet_engine.dto.request.CaptureHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.CreateWalletRequest;
+import com.example.fintech_wallet_engine.dto.request.VoidHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.WalletStatusRequest;
 import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.dto.response.WalletHoldResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletResponse;
 import com.example.fintech_wallet_engine.exception.WalletEngineException;
 import com.example.fintech_wallet_engine.model.*;
+import com.example.fintech_wallet_engine.notification.BalanceEventPublisher;
+import com.example.fintech_wallet_engine.notification.BalanceNotification;
 import com.example.fintech_wallet_engine.repository.IdempotencyKeyRepository;
+import com.example.fintech_wallet_engine.repository.WalletHoldRepository;
 import com.example.fintech_wallet_engine.repository.WalletRepository;
 import com.example.fintech_wallet_engine.repository.WalletTransactionRepository;
+import com.example.fintech_wallet_engine.sharding.ShardContext;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class WalletService {
 
+    public static final int REPLAY_PAGE_SIZE = 100;
+
+    private static final Duration DEFAULT_HOLD_TTL = Duration.ofDays(7);
+
     private final WalletRepository walletRepository;
     private final WalletTransactionRepository transactionRepository;
+    private final WalletHoldRepository holdRepository;
     private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ShardRouter shardRouter;
+    private final BalanceEventPublisher balanceEventPublisher;
 
     @Transactional
     public WalletResponse createWallet(CreateWalletRequest request) {
-        if (walletRepository.existsByEmail(request.email())) {
-            throw new WalletEngineException("Wallet already exists");
-        }
+        try (ShardContext.Scope ignored = shardRouter.routeNewWallet(request.email())) {
+            if (walletRepository.existsByEmail(request.email())) {
+                throw new WalletEngineException("Wallet already exists");
+            }
 
-        Wallet wallet = Wallet.builder()
-                .email(request.email())
-                .build();
+            Wallet wallet = Wallet.builder()
+                    .email(request.email())
+                    .build();
 
-        wallet = walletRepository.save(wallet);
+            wallet = walletRepository.save(wallet);
+            shardRouter.recordWalletId(wallet.getEmail(), wallet.getId());
 
-        return mapToWalletResponse(wallet);
+            return mapToWalletResponse(wallet);
+        }
     }
 
     @Transactional
     public WalletResponse updateWalletStatus(UUID walletId, WalletStatusRequest request) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        try (ShardContext.Scope ignored = shardRouter.routeById(walletId)) {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
 
-        wallet.setStatus(request.status());
-        walletRepository.save(wallet);
+            wallet.setStatus(request.status());
+            walletRepository.save(wallet);
 
-        return mapToWalletResponse(wallet);
+            return mapToWalletResponse(wallet);
+        }
     }
 
     @Transactional
     public WalletTransactionResponse creditWallet(WalletTransactionRequest request, String idempotencyKey) {
-        checkIdempotency(idempotencyKey);
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(request.email())) {
+            checkIdempotency(idempotencyKey);
 
-        Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
-                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+            Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
 
-        Long balanceBefore = wallet.getBalance();
+            Long balanceBefore = wallet.getBalance();
 
-        wallet.credit(request.amount());
-        walletRepository.save(wallet);
+            wallet.credit(request.amount());
+            walletRepository.save(wallet);
 
-        String ref = "TRN-" + UUID.randomUUID();
-
-        WalletTransaction txn = recordTransaction(
-                wallet,
-                WalletEnums.WalletTransactionType.CREDIT,
-                request.amount(),
-                balanceBefore,
-                wallet.getBalance(),
-                ref,
-                request.description(),
-                idempotencyKey
-        );
+            String ref = "TRN-" + UUID.randomUUID();
 
-        saveIdempotencyKey(idempotencyKey);
+            WalletTransaction txn = recordTransaction(
+                    wallet,
+                    WalletEnums.WalletTransactionType.CREDIT,
+                    request.amount(),
+                    balanceBefore,
+                    wallet.getBalance(),
+                    ref,
+                    request.description(),
+                    idempotencyKey
+            );
 
-        return mapToTransactionResponse(txn);
+            saveIdempotencyKey(idempotencyKey);
+
+            balanceEventPublisher.publish(new BalanceNotification(wallet.getId(), txn.getReference()));
+
+            return mapToTransactionResponse(txn);
+        }
     }
 
     @Transactional
     public WalletTransactionResponse debitWallet(WalletTransactionRequest request, String idempotencyKey) {
-        checkIdempotency(idempotencyKey);
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(request.email())) {
+            checkIdempotency(idempotencyKey);
 
-        Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
-                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+            Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
 
-        Long balanceBefore = wallet.getBalance();
+            Long balanceBefore = wallet.getBalance();
 
-        wallet.debit(request.amount());
-        walletRepository.save(wallet);
+            wallet.debit(request.amount());
+            walletRepository.save(wallet);
 
-        String ref = "TRN-" + UUID.randomUUID();
-
-        WalletTransaction txn = recordTransaction(
-                wallet,
-                WalletEnums.WalletTransactionType.DEBIT,
-                request.amount(),
-                balanceBefore,
-                wallet.getBalance(),
-                ref,
-                request.description(),
-                idempotencyKey
-        );
+            String ref = "TRN-" + UUID.randomUUID();
+
+            WalletTransaction txn = recordTransaction(
+                    wallet,
+                    WalletEnums.WalletTransactionType.DEBIT,
+                    request.amount(),
+                    balanceBefore,
+                    wallet.getBalance(),
+                    ref,
+                    request.description(),
+                    idempotencyKey
+            );
+
+            saveIdempotencyKey(idempotencyKey);
+
+            balanceEventPublisher.publish(new BalanceNotification(wallet.getId(), txn.getReference()));
+
+            return mapToTransactionResponse(txn);
+        }
+    }
+
+    // Reserves funds: available balance drops, ledger balance is untouched until capture
+    @Transactional
+    public WalletHoldResponse authorizeHold(AuthorizeHoldRequest request, String idempotencyKey) {
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(request.email())) {
+            checkIdempotency(idempotencyKey);
+
+            // Also enforced by request validation; an unbounded value would overflow expiresAt into a 500
+            if (request.expiresInSeconds() != null
+                    && (request.expiresInSeconds() < 1 || request.expiresInSeconds() > AuthorizeHoldRequest.MAX_EXPIRES_IN_SECONDS)) {
+                throw new WalletEngineException("Hold duration must be between 1 second and 30 days");
+            }
+
+            Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+
+            wallet.placeHold(request.amount());
+            walletRepository.save(wallet);
+
+            Duration ttl = request.expiresInSeconds() != null
+                    ? Duration.ofSeconds(request.expiresInSeconds())
+                    : DEFAULT_HOLD_TTL;
+
+            WalletHold hold = holdRepository.save(WalletHold.builder()
+                    .wallet(wallet)
+                    .reference("HLD-" + UUID.randomUUID())
+                    .amount(request.amount())
+                    .status(WalletEnums.HoldStatus.ACTIVE)
+                    .description(request.description())
+                    .expiresAt(LocalDateTime.now().plus(ttl))
+                    .build());
+
+            saveIdempotencyKey(idempotencyKey);
+
+            return mapToHoldResponse(hold, wallet);
+        }
+    }
+
+    @Transactional
+    public WalletHoldResponse captureHold(String holdReference, CaptureHoldRequest request, String idempotencyKey) {
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(request.email())) {
+            checkIdempotency(idempotencyKey);
+
+            Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+            WalletHold hold = findActiveHold(holdReference, wallet);
+
+            Long captureAmount = request.amount() != null ? request.amount() : hold.getAmount();
+            Long balanceBefore = wallet.getBalance();
+
+            wallet.captureHold(hold.getAmount(), captureAmount);
+            walletRepository.save(wallet);
+
+            hold.setCapturedAmount(captureAmount);
+            hold.setStatus(WalletEnums.HoldStatus.CAPTURED);
+            holdRepository.save(hold);
+
+            WalletTransaction txn = recordTransaction(
+                    wallet,
+                    WalletEnums.WalletTransactionType.DEBIT,
+                    captureAmount,
+                    balanceBefore,
+                    wallet.getBalance(),
+                    "TRN-" + UUID.randomUUID(),
+                    hold.getDescription() != null ? hold.getDescription() : "Capture of " + hold.getReference(),
+                    idempotencyKey
+            );
+
+            saveIdempotencyKey(idempotencyKey);
+            balanceEventPublisher.publish(new BalanceNotification(wallet.getId(), txn.getReference()));
+
+            return mapToHoldResponse(hold, wallet);
+        }
+    }
 
-        saveIdempotencyKey(idempotencyKey);
+    @Transactional
+    public WalletHoldResponse voidHold(String holdReference, VoidHoldRequest request) {
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(request.email())) {
+            Wallet wallet = walletRepository.findByEmailForUpdateWithLock(request.email())
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+            WalletHold hold = findActiveHold(holdReference, wallet);
+
+            wallet.releaseHold(hold.getAmount());
+            walletRepository.save(wallet);
+
+            hold.setStatus(WalletEnums.HoldStatus.VOIDED);
+            holdRepository.save(hold);
+
+            return mapToHoldResponse(hold, wallet);
+        }
+    }
 
-        return mapToTransactionResponse(txn);
+    /**
+     * Lists up to {@code limit} wallets on the currently bound shard that have expired holds.
+     * Runs on the primary: a lagging replica would keep handing back wallets that were already swept.
+     */
+    @Transactional
+    public List<UUID> findWalletsWithExpiredHolds(int limit) {
+        return holdRepository.findWalletIdsWithHoldsExpiredBefore(
+                WalletEnums.HoldStatus.ACTIVE, LocalDateTime.now(), PageRequest.of(0, limit));
     }
 
+    /**
+     * Releases the expired holds of one wallet on the currently bound shard and returns how many were released.
+     * One wallet per transaction, so a wallet whose lock times out fails alone instead of rolling back the batch.
+     */
+    @Transactional
+    public int expireHolds(UUID walletId) {
+        Wallet wallet = walletRepository.findByIdWithLock(walletId).orElse(null);
+        if (wallet == null) {
+            return 0;
+        }
+        int released = 0;
+        // Re-read under the wallet lock: a capture or void may have won the race
+        for (WalletHold hold : holdRepository.findByWalletIdAndStatusAndExpiresAtBefore(walletId, WalletEnums.HoldStatus.ACTIVE, LocalDateTime.now())) {
+            wallet.releaseHold(hold.getAmount());
+            hold.setStatus(WalletEnums.HoldStatus.EXPIRED);
+            holdRepository.save(hold);
+            released++;
+        }
+        walletRepository.save(wallet);
+        return released;
+    }
+
+    @Transactional(readOnly = true)
     public WalletResponse getWallet(UUID walletId) {
-        return walletRepository.findById(walletId)
-                .map(this::mapToWalletResponse)
-                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        try (ShardContext.Scope ignored = shardRouter.routeById(walletId)) {
+            return walletRepository.findById(walletId)
+                    .map(this::mapToWalletResponse)
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        }
     }
 
+    @Transactional(readOnly = true)
     public WalletResponse getWalletByEmail(String email) {
-        return walletRepository.findByEmail(email)
-                .map(this::mapToWalletResponse)
-                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        try (ShardContext.Scope ignored = shardRouter.routeByEmail(email)) {
+            return walletRepository.findByEmail(email)
+                    .map(this::mapToWalletResponse)
+                    .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        }
+    }
+
+    // Not read-only: a notification can arrive before any replica has replayed the commit that sent it
+    @Transactional
+    public WalletTransactionResponse getTransaction(UUID walletId, String reference) {
+        try (ShardContext.Scope ignored = shardRouter.routeById(walletId)) {
+            return transactionRepository.findByReference(reference)
+                    .filter(t -> t.getWallet().getId().equals(walletId))
+                    .map(this::mapToTransactionResponse)
+                    .orElseThrow(() -> new WalletEngineException("Transaction not found"));
+        }
+    }
+
+    // Lets a stream subscriber catch up on what it missed since the last reference it saw, one page at a time
+    @Transactional(readOnly = true)
+    public List<WalletTransactionResponse> getTransactionsAfter(UUID walletId, String afterReference) {
+        try (ShardContext.Scope ignored = shardRouter.routeById(walletId)) {
+            WalletTransaction lastSeen = transactionRepository.findByReference(afterReference)
+                    .filter(t -> t.getWallet().getId().equals(walletId))
+                    .orElseThrow(() -> new WalletEngineException("Transaction not found"));
+
+            return transactionRepository
+                    .findPageAfter(walletId, lastSeen.getCreatedAt(), lastSeen.getId(), PageRequest.of(0, REPLAY_PAGE_SIZE))
+                    .stream()
+                    .map(this::mapToTransactionResponse)
+                    .toList();
+        }
     }
 
     private WalletTransaction recordTransaction(Wallet wallet, WalletEnums.WalletTransactionType type, Long amount, Long balanceBefore, Long balanceAfter, String reference, String description, String idempotencyKey) {
@@ -135,6 +324,20 @@ public class WalletService {
                 .build());
     }
 
+    private WalletHold findActiveHold(String reference, Wallet wallet) {
+        WalletHold hold = holdRepository.findByReference(reference)
+                .filter(h -> h.getWallet().getId().equals(wallet.getId()))
+                .orElseThrow(() -> new WalletEngineException("Hold not found"));
+
+        if (hold.getStatus() != WalletEnums.HoldStatus.ACTIVE) {
+            throw new WalletEngineException("Hold is " + hold.getStatus().name().toLowerCase());
+        }
+        if (hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new WalletEngineException("Hold has expired");
+        }
+        return hold;
+    }
+
     private void checkIdempotency(String key) {
         if (key != null && idempotencyKeyRepository.existsById(key)) {
             throw new WalletEngineException("Duplicate request");
@@ -152,7 +355,19 @@ public class WalletService {
     }
 
     private WalletResponse mapToWalletResponse(Wallet w) {
-        return new WalletResponse(w.getId(), w.getEmail(), w.getBalance(), w.getStatus(), w.getCreatedAt());
+        return new WalletResponse(w.getId(), w.getEmail(), w.getBalance(), w.getAvailableBalance(), w.getStatus(), w.getCreatedAt());
+    }
+
+    private WalletHoldResponse mapToHoldResponse(WalletHold h, Wallet w) {
+        return new WalletHoldResponse(
+                h.getReference(),
+                h.getAmount(),
+                h.getCapturedAmount(),
+                h.getStatus(),
+                w.getAvailableBalance(),
+                h.getExpiresAt(),
+                h.getCreatedAt()
+        );
     }
 
     private WalletTransactionResponse mapToTransactionResponse(WalletTransaction t) {
@@ -0,0 +1,39 @@
+package com.example.fintech_wallet_engine.sharding;
+
+/**
+ * Holds the shard the current thread is working against.
+ * The routing datasource reads it when a physical connection is first needed.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static Scope bind(int shardId) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shardId);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // Restores whatever shard was bound before, so nested routing calls unwind cleanly
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        Scope NOOP = () -> { };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the bucket-to-shard map in the shard_buckets table on the directory shard, so every instance places new
+ * wallets the same way and a restart keeps the current map. Each instance reloads it on a fixed delay, which
+ * bounds how long it keeps placing wallets by an old map after a change made through another instance.
+ */
+@Slf4j
+public class ShardMapStore {
+
+    private final ShardRegistry registry;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param createTable create the table if it is missing; otherwise {@link #load()} fails if it does not exist
+     */
+    public ShardMapStore(ShardRegistry registry, DataSource directoryDataSource, boolean createTable) {
+        this.registry = registry;
+        this.jdbcTemplate = new JdbcTemplate(directoryDataSource);
+        if (createTable) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS shard_buckets (
+                        bucket INTEGER PRIMARY KEY,
+                        shard_id INTEGER NOT NULL
+                    )""");
+        }
+    }
+
+    /**
+     * Seeds the table with the registry's round-robin spread the first time sharding runs, then adopts whatever is
+     * stored. Instances seeding at the same time agree, because they share one configuration.
+     */
+    public void load() {
+        int[] defaults = registry.bucketAssignments();
+        List<Object[]> rows = new ArrayList<>(defaults.length);
+        for (int bucket = 0; bucket < defaults.length; bucket++) {
+            rows.add(new Object[]{bucket, defaults[bucket]});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO shard_buckets (bucket, shard_id) VALUES (?, ?) ON CONFLICT (bucket) DO NOTHING", rows);
+
+        Integer stored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shard_buckets", Integer.class);
+        if (stored == null || stored != registry.bucketCount()) {
+            throw new IllegalStateException("shard_buckets holds " + stored + " buckets but wallet.sharding.buckets is "
+                    + registry.bucketCount() + "; the bucket count cannot change once wallets are placed");
+        }
+        registry.replaceAssignments(read());
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.sharding.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            registry.replaceAssignments(read());
+        } catch (RuntimeException e) {
+            // Most likely a shard that is not in this instance's configuration yet; keep placing by the map we have
+            log.warn("Could not refresh the shard map: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Points buckets [fromBucket, toBucket] at a shard for every instance. The shard must already be configured
+     * on all of them.
+     */
+    public void assignBuckets(int fromBucket, int toBucket, int shardId) {
+        registry.checkAssignment(fromBucket, toBucket, shardId);
+        jdbcTemplate.update("UPDATE shard_buckets SET shard_id = ? WHERE bucket BETWEEN ? AND ?",
+                shardId, fromBucket, toBucket);
+        registry.replaceAssignments(read());
+    }
+
+    private int[] read() {
+        int[] bucketToShard = new int[registry.bucketCount()];
+        jdbcTemplate.query("SELECT bucket, shard_id FROM shard_buckets", rs -> {
+            int bucket = rs.getInt(1);
+            if (bucket < 0 || bucket >= bucketToShard.length) {
+                throw new WalletEngineException("Stored shard map has unknown bucket " + bucket);
+            }
+            bucketToShard[bucket] = rs.getInt(2);
+        });
+        return bucketToShard;
+    }
+}
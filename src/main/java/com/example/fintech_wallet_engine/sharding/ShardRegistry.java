@@ -0,0 +1,105 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shard map: which datasources exist and which virtual bucket lives on which shard.
+ * Readers see an immutable snapshot; changes publish a new snapshot, so the map can be edited while serving traffic.
+ * The datasources are fixed by configuration; the bucket map is shared through {@link ShardMapStore}.
+ */
+public class ShardRegistry {
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    private final int bucketCount;
+    private volatile Snapshot snapshot;
+
+    public ShardRegistry(int bucketCount, Map<Integer, DataSource> dataSources) {
+        if (dataSources.isEmpty() || !dataSources.containsKey(DIRECTORY_SHARD)) {
+            throw new IllegalArgumentException("Shard " + DIRECTORY_SHARD + " must be configured");
+        }
+        this.bucketCount = bucketCount;
+
+        // Spread buckets round-robin across the shards we start with
+        Integer[] shardIds = dataSources.keySet().stream().sorted().toArray(Integer[]::new);
+        int[] bucketToShard = new int[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketToShard[bucket] = shardIds[bucket % shardIds.length];
+        }
+        this.snapshot = new Snapshot(Map.copyOf(dataSources), bucketToShard);
+    }
+
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    public int bucketFor(String key) {
+        return Math.floorMod(mix(key.toLowerCase(Locale.ROOT).hashCode()), bucketCount);
+    }
+
+    public int shardFor(String key) {
+        return snapshot.bucketToShard()[bucketFor(key)];
+    }
+
+    public DataSource dataSource(int shardId) {
+        DataSource dataSource = snapshot.dataSources().get(shardId);
+        if (dataSource == null) {
+            throw new WalletEngineException("Unknown shard " + shardId);
+        }
+        return dataSource;
+    }
+
+    public Map<Integer, DataSource> dataSources() {
+        return snapshot.dataSources();
+    }
+
+    public int[] bucketAssignments() {
+        return snapshot.bucketToShard().clone();
+    }
+
+    /**
+     * Checks that buckets [fromBucket, toBucket] may be pointed at a shard. Shards themselves come from configuration,
+     * so every instance must know the shard before any bucket is assigned to it.
+     */
+    public void checkAssignment(int fromBucket, int toBucket, int shardId) {
+        if (!snapshot.dataSources().containsKey(shardId)) {
+            throw new WalletEngineException("Unknown shard " + shardId);
+        }
+        if (fromBucket < 0 || toBucket >= bucketCount || fromBucket > toBucket) {
+            throw new WalletEngineException("Invalid bucket range");
+        }
+    }
+
+    /**
+     * Adopts a complete bucket map, as loaded from {@link ShardMapStore}. Only affects where new wallets are placed;
+     * existing wallets stay where the directory says they are.
+     */
+    public synchronized void replaceAssignments(int[] bucketToShard) {
+        Snapshot current = snapshot;
+        if (bucketToShard.length != bucketCount) {
+            throw new IllegalArgumentException("Expected " + bucketCount + " buckets but got " + bucketToShard.length);
+        }
+        for (int shardId : bucketToShard) {
+            if (!current.dataSources().containsKey(shardId)) {
+                throw new WalletEngineException("Unknown shard " + shardId);
+            }
+        }
+        snapshot = new Snapshot(current.dataSources(), bucketToShard.clone());
+    }
+
+    // Murmur3 finalizer: String.hashCode() clusters badly for similar emails
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private record Snapshot(Map<Integer, DataSource> dataSources, int[] bucketToShard) {}
+}
@@ -0,0 +1,82 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Binds the current thread to the shard owning a wallet. With sharding disabled every call is a no-op.
+ * Callers must bind before the first repository call of a transaction.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardRegistry registry;
+    private final WalletDirectory directory;
+
+    public ShardRouter(ObjectProvider<ShardRegistry> registry, ObjectProvider<WalletDirectory> directory) {
+        this.registry = registry.getIfAvailable();
+        this.directory = directory.getIfAvailable();
+    }
+
+    public ShardContext.Scope routeByEmail(String email) {
+        if (registry == null) {
+            return ShardContext.Scope.NOOP;
+        }
+        int shardId = directory.shardForEmail(email).orElseGet(() -> registry.shardFor(email));
+        return ShardContext.bind(shardId);
+    }
+
+    public ShardContext.Scope routeById(UUID walletId) {
+        if (registry == null) {
+            return ShardContext.Scope.NOOP;
+        }
+        int shardId = directory.shardForWallet(walletId)
+                .orElseThrow(() -> new WalletEngineException("Wallet not found"));
+        return ShardContext.bind(shardId);
+    }
+
+    public ShardContext.Scope routeNewWallet(String email) {
+        if (registry == null) {
+            return ShardContext.Scope.NOOP;
+        }
+        return ShardContext.bind(directory.register(email, registry.shardFor(email)));
+    }
+
+    // Runs a task once per shard with that shard bound; background jobs use this to cover every database
+    public void forEachShard(Runnable task) {
+        if (registry == null) {
+            task.run();
+            return;
+        }
+        for (Integer shardId : registry.dataSources().keySet()) {
+            try (ShardContext.Scope ignored = ShardContext.bind(shardId)) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Links the wallet id to its directory entry once the wallet row has committed. The directory lives on its own
+     * connection, so writing earlier could point at a wallet whose insert later fails.
+     */
+    public void recordWalletId(String email, UUID walletId) {
+        if (directory == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            directory.attachWalletId(email, walletId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                directory.attachWalletId(email, walletId);
+            }
+        });
+    }
+}
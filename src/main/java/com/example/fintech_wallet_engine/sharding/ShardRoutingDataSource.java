@@ -0,0 +1,36 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from the shard bound in {@link ShardContext}, falling back to the directory shard.
+ * Wrapped in a LazyConnectionDataSourceProxy so the lookup happens on the first statement rather than at
+ * transaction begin, which lets the service pick the shard inside a @Transactional method.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource {
+
+    private final ShardRegistry registry;
+
+    public ShardRoutingDataSource(ShardRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    private DataSource determineTarget() {
+        Integer shardId = ShardContext.current();
+        return registry.dataSource(shardId != null ? shardId : ShardRegistry.DIRECTORY_SHARD);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.HashMap;
+
+/**
+ * Hibernate only applies spring.jpa.hibernate.ddl-auto to the default (directory) shard. This replays the same
+ * action against every other shard with that shard bound, so a new column reaches each shard the way it reaches
+ * shard 0 (update migrates, validate only checks, none does nothing).
+ * Registered as a Hibernate integrator to get hold of the boot metadata the schema tooling needs.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements Integrator {
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    public void initialize(int shardId) {
+        if (metadata == null) {
+            throw new IllegalStateException("Hibernate has not started; cannot prepare shard " + shardId);
+        }
+        try (ShardContext.Scope ignored = ShardContext.bind(shardId)) {
+            log.info("Applying wallet schema action to shard {}", shardId);
+            SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                    new HashMap<>(sessionFactory.getProperties()), DelayedDropRegistryNotAvailableImpl.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authoritative email/wallet-id to shard mapping, stored on the directory shard.
+ * Entries never change once written, so they are cached in memory after the first read.
+ * Emails are keyed exactly as given, matching the unique constraint on {@code wallets.email}: two emails that
+ * differ only in case are two wallets, and each needs its own row to carry its wallet id.
+ */
+public class WalletDirectory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, Integer> shardByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> shardByWalletId = new ConcurrentHashMap<>();
+
+    /**
+     * @param createTable create the table if it is missing; otherwise only check that it exists, for instances
+     *                    that must not change the schema
+     */
+    public WalletDirectory(DataSource directoryDataSource, boolean createTable) {
+        this.jdbcTemplate = new JdbcTemplate(directoryDataSource);
+        if (createTable) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS wallet_directory (
+                        email VARCHAR(255) PRIMARY KEY,
+                        wallet_id UUID UNIQUE,
+                        shard_id INTEGER NOT NULL
+                    )""");
+        } else {
+            jdbcTemplate.execute("SELECT email, wallet_id, shard_id FROM wallet_directory WHERE false");
+        }
+    }
+
+    public Optional<Integer> shardForEmail(String email) {
+        Integer cached = shardByEmail.get(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT shard_id FROM wallet_directory WHERE email = ?", Integer.class, email);
+        rows.stream().findFirst().ifPresent(shard -> shardByEmail.put(email, shard));
+        return rows.stream().findFirst();
+    }
+
+    public Optional<Integer> shardForWallet(UUID walletId) {
+        Integer cached = shardByWalletId.get(walletId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT shard_id FROM wallet_directory WHERE wallet_id = ?", Integer.class, walletId);
+        rows.stream().findFirst().ifPresent(shard -> shardByWalletId.put(walletId, shard));
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Claims a shard for an email. If another instance claimed it first, their choice wins.
+     */
+    public int register(String email, int shardId) {
+        jdbcTemplate.update(
+                "INSERT INTO wallet_directory (email, shard_id) VALUES (?, ?) ON CONFLICT (email) DO NOTHING",
+                email, shardId);
+        shardByEmail.remove(email);
+        return shardForEmail(email).orElse(shardId);
+    }
+
+    // Drops a claim whose wallet was never created, e.g. the startup warmup's rolled-back wallet
+    public void release(String email) {
+        jdbcTemplate.update("DELETE FROM wallet_directory WHERE email = ? AND wallet_id IS NULL", email);
+        shardByEmail.remove(email);
+    }
+
+    // First committed wallet wins; a racing create that lost on the unique email can never overwrite it
+    public void attachWalletId(String email, UUID walletId) {
+        jdbcTemplate.update("UPDATE wallet_directory SET wallet_id = ? WHERE email = ? AND wallet_id IS NULL",
+                walletId, email);
+    }
+}
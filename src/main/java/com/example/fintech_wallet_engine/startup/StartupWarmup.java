@@ -0,0 +1,122 @@
+package com.example.fintech_wallet_engine.startup;
+
+import com.example.fintech_wallet_engine.dto.request.CreateWalletRequest;
+import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import com.example.fintech_wallet_engine.sharding.WalletDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs before the readiness probe flips to ACCEPTING_TRAFFIC (Boot only publishes that once all runners finish).
+ * Opens every pool's connections and drives credit/debit through the real service inside a transaction that is
+ * always rolled back, so the first real request does not pay for connection setup, lazy beans or cold code.
+ * Off by default; the faststart profile turns it on. Each instance warms up with its own email, so instances
+ * starting together never wait on each other's uncommitted wallet row; with sharding on, that email's
+ * wallet_directory claim is released afterwards.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private final String warmupEmail = "warmup-" + UUID.randomUUID() + "@wallet-engine.invalid";
+    private final WalletService walletService;
+    private final ObjectProvider<WalletDirectory> walletDirectory;
+    private final List<DataSource> pools;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${wallet.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${wallet.warmup.connections:10}")
+    private int connections;
+
+    @Value("${wallet.warmup.iterations:500}")
+    private int iterations;
+
+    public StartupWarmup(WalletService walletService, DataSource dataSource, ObjectProvider<ShardRegistry> shardRegistry,
+                         ObjectProvider<WalletDirectory> walletDirectory, PlatformTransactionManager transactionManager) {
+        this.walletService = walletService;
+        this.walletDirectory = walletDirectory;
+        this.transactionManager = transactionManager;
+        ShardRegistry registry = shardRegistry.getIfAvailable();
+        // The routing DataSource only ever reaches shard 0 outside a shard scope, so warm each shard's pool directly
+        this.pools = registry != null ? List.copyOf(registry.dataSources().values()) : List.of(dataSource);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            warmConnectionPools();
+            warmWalletPaths();
+            log.info("Warmup finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // A failed warmup only costs latency; never keep the instance out of rotation for it
+            log.warn("Warmup failed, continuing cold: {}", e.getMessage());
+        }
+    }
+
+    private void warmConnectionPools() {
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (DataSource pool : pools) {
+                for (int i = 0; i < connections; i++) {
+                    futures.add(executor.submit(() -> {
+                        // isValid forces a physical connection even behind a lazy routing proxy
+                        try (Connection connection = pool.getConnection()) {
+                            connection.isValid(2);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not open pool connections", e);
+        }
+    }
+
+    private void warmWalletPaths() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        try {
+            template.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                walletService.createWallet(new CreateWalletRequest(warmupEmail));
+                WalletTransactionRequest request = new WalletTransactionRequest(warmupEmail, 100L, "warmup");
+                for (int i = 0; i < iterations; i++) {
+                    walletService.creditWallet(request, null);
+                    walletService.debitWallet(request, null);
+                }
+                walletService.getWalletByEmail(warmupEmail);
+            });
+        } finally {
+            // The directory claim is committed on its own connection, so the rollback above does not remove it
+            walletDirectory.ifAvailable(directory -> directory.release(warmupEmail));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.fintech_wallet_engine.wire;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The response ended before every command had a result. The first {@link #getResults()} commands were executed
+ * and these are their results; the rest may or may not have been, so only retry them with their original idempotency keys.
+ */
+public class PartialResultException extends IOException {
+
+    private final List<WireProtocol.Result> results;
+
+    public PartialResultException(String message, List<WireProtocol.Result> results, Throwable cause) {
+        super(message, cause);
+        this.results = List.copyOf(results);
+    }
+
+    public List<WireProtocol.Result> getResults() {
+        return results;
+    }
+}
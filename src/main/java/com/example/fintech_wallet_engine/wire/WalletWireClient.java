@@ -0,0 +1,83 @@
+package com.example.fintech_wallet_engine.wire;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal JDK-only client for the frame endpoint. A batch of commands is pipelined in one request body and
+ * the results come back in the same order. Thread-safe; reuse one instance per target.
+ * <p>
+ * If the stream breaks mid-batch, {@link PartialResultException} carries the results that did arrive. Commands
+ * past them may already have executed, so pipelined callers must set an idempotency key on every command and
+ * retry the remainder with the same keys.
+ */
+public class WalletWireClient {
+
+    private final HttpClient httpClient;
+    private final URI framesUri;
+
+    public WalletWireClient(URI baseUri) {
+        this(HttpClient.newHttpClient(), baseUri);
+    }
+
+    public WalletWireClient(HttpClient httpClient, URI baseUri) {
+        this.httpClient = httpClient;
+        this.framesUri = baseUri.resolve("/api/v1/wallets/frames");
+    }
+
+    public WireProtocol.Result credit(long correlationId, String email, long amount, String idempotencyKey, String description)
+            throws IOException, InterruptedException {
+        return send(List.of(new WireProtocol.Command(correlationId, WireProtocol.OP_CREDIT, email, amount, idempotencyKey, description))).getFirst();
+    }
+
+    public WireProtocol.Result debit(long correlationId, String email, long amount, String idempotencyKey, String description)
+            throws IOException, InterruptedException {
+        return send(List.of(new WireProtocol.Command(correlationId, WireProtocol.OP_DEBIT, email, amount, idempotencyKey, description))).getFirst();
+    }
+
+    public List<WireProtocol.Result> send(List<WireProtocol.Command> commands) throws IOException, InterruptedException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(commands.size() * 96);
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (WireProtocol.Command command : commands) {
+            WireProtocol.writeCommand(out, command);
+        }
+        out.flush();
+
+        HttpRequest request = HttpRequest.newBuilder(framesUri)
+                .header("Content-Type", WireProtocol.CONTENT_TYPE)
+                .header("Accept", WireProtocol.CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray()))
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Frame endpoint returned HTTP " + response.statusCode());
+        }
+
+        List<WireProtocol.Result> results = new ArrayList<>(commands.size());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(response.body()))) {
+            WireProtocol.Result result;
+            while ((result = WireProtocol.readResult(in)) != null) {
+                results.add(result);
+            }
+        } catch (IOException e) {
+            throw new PartialResultException("Response broke after " + results.size() + " of " + commands.size()
+                    + " results", results, e);
+        }
+        if (results.size() != commands.size()) {
+            throw new PartialResultException("Expected " + commands.size() + " results but got " + results.size(),
+                    results, null);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.fintech_wallet_engine.wire;
+
+import com.example.fintech_wallet_engine.model.WalletEnums.WalletTransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed binary framing for high-volume credit/debit callers. All integers are big-endian.
+ *
+ * <pre>
+ * request  := len:int32 version:int8 op:int8 correlationId:int64 amount:int64 email:str idempotencyKey:str description:str
+ * response := len:int32 version:int8 status:int8 correlationId:int64
+ *             (status = OK)        type:int8 amount:int64 balanceAfter:int64 timestampMillis:int64 reference:str
+ *             (status = THROTTLED) message:str retryAfterMillis:int64
+ *             (otherwise)          message:str
+ * str      := length:uint16 utf8-bytes   (0xFFFF = null)
+ * </pre>
+ *
+ * Fields are only ever appended within a version; a reader skips any trailing bytes it does not know.
+ */
+public final class WireProtocol {
+
+    public static final String CONTENT_TYPE = "application/x-wallet-frame";
+    public static final byte VERSION = 1;
+
+    public static final byte OP_CREDIT = 1;
+    public static final byte OP_DEBIT = 2;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_REJECTED = 1;
+    public static final byte STATUS_ERROR = 2;
+    // Not executed; resend after retryAfterMillis
+    public static final byte STATUS_THROTTLED = 3;
+
+    static final int MAX_FRAME_BYTES = 64 * 1024;
+    private static final int NULL_STRING = 0xFFFF;
+
+    private WireProtocol() {
+    }
+
+    public record Command(long correlationId, byte op, String email, long amount, String idempotencyKey, String description) {}
+
+    public record Result(long correlationId, byte status, WalletTransactionType type, long amount, long balanceAfter,
+                         long timestampMillis, String reference, String message, long retryAfterMillis) {
+
+        public Result(long correlationId, byte status, WalletTransactionType type, long amount, long balanceAfter,
+                      long timestampMillis, String reference, String message) {
+            this(correlationId, status, type, amount, balanceAfter, timestampMillis, reference, message, 0L);
+        }
+
+        public boolean isOk() {
+            return status == STATUS_OK;
+        }
+    }
+
+    public static void writeCommand(DataOutputStream out, Command command) throws IOException {
+        byte[] email = utf8(command.email());
+        byte[] key = utf8(command.idempotencyKey());
+        byte[] description = utf8(command.description());
+
+        out.writeInt(2 + 8 + 8 + strSize(email) + strSize(key) + strSize(description));
+        out.writeByte(VERSION);
+        out.writeByte(command.op());
+        out.writeLong(command.correlationId());
+        out.writeLong(command.amount());
+        writeStr(out, email);
+        writeStr(out, key);
+        writeStr(out, description);
+    }
+
+    /**
+     * @return the next command, or null on a clean end of stream between frames
+     */
+    public static Command readCommand(DataInputStream in) throws IOException {
+        Integer length = readLengthOrEof(in);
+        if (length == null) {
+            return null;
+        }
+        FrameReader frame = new FrameReader(in, length);
+        checkVersion(frame.readByte());
+        byte op = frame.readByte();
+        long correlationId = frame.readLong();
+        long amount = frame.readLong();
+        String email = frame.readStr();
+        String key = frame.readStr();
+        String description = frame.readStr();
+        frame.skipRest();
+        return new Command(correlationId, op, email, amount, key, description);
+    }
+
+    public static void writeResult(DataOutputStream out, Result result) throws IOException {
+        if (result.status() == STATUS_OK) {
+            byte[] reference = utf8(result.reference());
+            out.writeInt(2 + 8 + 1 + 8 + 8 + 8 + strSize(reference));
+            out.writeByte(VERSION);
+            out.writeByte(STATUS_OK);
+            out.writeLong(result.correlationId());
+            // Encoded with the op codes rather than ordinal() so reordering the enum cannot change the wire format
+            out.writeByte(result.type() == WalletTransactionType.CREDIT ? OP_CREDIT : OP_DEBIT);
+            out.writeLong(result.amount());
+            out.writeLong(result.balanceAfter());
+            out.writeLong(result.timestampMillis());
+            writeStr(out, reference);
+        } else {
+            byte[] message = utf8(result.message());
+            boolean throttled = result.status() == STATUS_THROTTLED;
+            out.writeInt(2 + 8 + strSize(message) + (throttled ? 8 : 0));
+            out.writeByte(VERSION);
+            out.writeByte(result.status());
+            out.writeLong(result.correlationId());
+            writeStr(out, message);
+            if (throttled) {
+                out.writeLong(result.retryAfterMillis());
+            }
+        }
+    }
+
+    public static Result readResult(DataInputStream in) throws IOException {
+        Integer length = readLengthOrEof(in);
+        if (length == null) {
+            return null;
+        }
+        FrameReader frame = new FrameReader(in, length);
+        checkVersion(frame.readByte());
+        byte status = frame.readByte();
+        long correlationId = frame.readLong();
+        Result result;
+        if (status == STATUS_OK) {
+            WalletTransactionType type = frame.readByte() == OP_CREDIT ? WalletTransactionType.CREDIT : WalletTransactionType.DEBIT;
+            long amount = frame.readLong();
+            long balanceAfter = frame.readLong();
+            long timestampMillis = frame.readLong();
+            String reference = frame.readStr();
+            result = new Result(correlationId, status, type, amount, balanceAfter, timestampMillis, reference, null);
+        } else if (status == STATUS_THROTTLED) {
+            String message = frame.readStr();
+            result = new Result(correlationId, status, null, 0, 0, 0, null, message, frame.readLong());
+        } else {
+            result = new Result(correlationId, status, null, 0, 0, 0, null, frame.readStr());
+        }
+        frame.skipRest();
+        return result;
+    }
+
+    private static Integer readLengthOrEof(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        if (length < 2 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        return length;
+    }
+
+    private static void checkVersion(byte version) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unsupported frame version " + version);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int strSize(byte[] bytes) {
+        return 2 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void writeStr(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        if (bytes.length >= NULL_STRING) {
+            throw new IOException("String field too long");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // Tracks how much of the declared frame is left so unknown trailing fields can be skipped
+    private static final class FrameReader {
+
+        private final DataInputStream in;
+        private int remaining;
+
+        FrameReader(DataInputStream in, int length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        byte readByte() throws IOException {
+            take(1);
+            return in.readByte();
+        }
+
+        long readLong() throws IOException {
+            take(8);
+            return in.readLong();
+        }
+
+        String readStr() throws IOException {
+            take(2);
+            int length = in.readUnsignedShort();
+            if (length == NULL_STRING) {
+                return null;
+            }
+            take(length);
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void skipRest() throws IOException {
+            if (remaining > 0) {
+                in.skipNBytes(remaining);
+                remaining = 0;
+            }
+        }
+
+        private void take(int bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new EOFException("Field overruns frame");
+            }
+        }
+    }
+}
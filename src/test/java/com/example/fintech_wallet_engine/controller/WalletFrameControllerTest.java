@@ -0,0 +1,124 @@
+package com.example.fintech_wallet_engine.controller;
+
+import com.example.fintech_wallet_engine.config.RateLimitProperties;
+import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+import com.example.fintech_wallet_engine.model.Wallet;
+import com.example.fintech_wallet_engine.model.WalletEnums;
+import com.example.fintech_wallet_engine.model.WalletTransaction;
+import com.example.fintech_wallet_engine.notification.BalanceEventPublisher;
+import com.example.fintech_wallet_engine.ratelimit.RateLimiter;
+import com.example.fintech_wallet_engine.repository.IdempotencyKeyRepository;
+import com.example.fintech_wallet_engine.repository.WalletHoldRepository;
+import com.example.fintech_wallet_engine.repository.WalletRepository;
+import com.example.fintech_wallet_engine.repository.WalletTransactionRepository;
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import com.example.fintech_wallet_engine.wire.WireProtocol;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletFrameControllerTest {
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Test
+    @DisplayName("Each frame is charged to the client; an over-limit frame is throttled, not executed")
+    void frames_ThrottledPerFrame() throws IOException {
+        // One request's worth of client budget, plenty of wallet budget
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, null, null,
+                new RateLimitProperties.Limit(1.0, 1), new RateLimitProperties.Limit(1000.0, 1000), null), meterRegistry);
+        WalletFrameController controller = new WalletFrameController(walletService, rateLimiter);
+        when(walletService.creditWallet(any(WalletTransactionRequest.class), any())).thenReturn(new WalletTransactionResponse(
+                "TRN-1", WalletEnums.WalletTransactionType.CREDIT, 100L, 100L, null, "SUCCESS", LocalDateTime.now()));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        WireProtocol.writeCommand(out, new WireProtocol.Command(1L, WireProtocol.OP_CREDIT, "user@example.com", 100L, "key-1", null));
+        WireProtocol.writeCommand(out, new WireProtocol.Command(2L, WireProtocol.OP_CREDIT, "user@example.com", 100L, "key-2", null));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallets/frames");
+        request.setContent(body.toByteArray());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.frames(request, response);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertTrue(WireProtocol.readResult(in).isOk());
+        WireProtocol.Result throttled = WireProtocol.readResult(in);
+        assertEquals(WireProtocol.STATUS_THROTTLED, throttled.status());
+        assertEquals(2L, throttled.correlationId());
+        assertTrue(throttled.retryAfterMillis() > 0);
+        verify(walletService, times(1)).creditWallet(any(), any());
+    }
+
+    @Test
+    @DisplayName("Each frame reads the wallet afresh, so a write between two frames is not overwritten")
+    void frames_ConcurrentWriteBetweenFrames_NotLost() throws IOException {
+        // Stands in for the wallet row: every locked read builds a new entity from it, as a per-transaction
+        // persistence context would, and every save writes it back
+        AtomicLong row = new AtomicLong(1000L);
+        AtomicInteger reads = new AtomicInteger();
+        WalletRepository walletRepository = mock(WalletRepository.class);
+        WalletTransactionRepository transactionRepository = mock(WalletTransactionRepository.class);
+        when(walletRepository.findByEmailForUpdateWithLock("user@example.com")).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 2) {
+                // Another instance credits 500 after frame 1 commits and before frame 2 starts
+                row.addAndGet(500L);
+            }
+            Wallet wallet = Wallet.builder().email("user@example.com").build();
+            ReflectionTestUtils.setField(wallet, "balance", row.get());
+            return Optional.of(wallet);
+        });
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> {
+            row.set(invocation.<Wallet>getArgument(0).getBalance());
+            return invocation.getArgument(0);
+        });
+        when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        WalletService service = new WalletService(walletRepository, transactionRepository, mock(WalletHoldRepository.class),
+                mock(IdempotencyKeyRepository.class), mock(ShardRouter.class), mock(BalanceEventPublisher.class));
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(false, null, null, null, null, null), meterRegistry);
+        WalletFrameController controller = new WalletFrameController(service, rateLimiter);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        WireProtocol.writeCommand(out, new WireProtocol.Command(1L, WireProtocol.OP_DEBIT, "user@example.com", 100L, null, null));
+        WireProtocol.writeCommand(out, new WireProtocol.Command(2L, WireProtocol.OP_DEBIT, "user@example.com", 100L, null, null));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallets/frames");
+        request.setContent(body.toByteArray());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.frames(request, response);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertEquals(900L, WireProtocol.readResult(in).balanceAfter());
+        assertEquals(1300L, WireProtocol.readResult(in).balanceAfter());
+        assertEquals(1300L, row.get());
+    }
+}
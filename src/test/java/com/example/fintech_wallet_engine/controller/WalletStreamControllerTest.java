@@ -0,0 +1,77 @@
+package com.example.fintech_wallet_engine.controller;
+
+import com.example.fintech_wallet_engine.dto.response.WalletResponse;
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import com.example.fintech_wallet_engine.model.WalletEnums.WalletStatus;
+import com.example.fintech_wallet_engine.notification.BalanceStreamHub;
+import com.example.fintech_wallet_engine.service.WalletService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.jpa.autoconfigure.JpaProperties;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletStreamControllerTest {
+
+    @Mock
+    private WalletService walletService;
+
+    private final BalanceStreamHub hub = new BalanceStreamHub();
+    private final UUID walletId = UUID.randomUUID();
+    private WalletStreamController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new WalletStreamController(walletService, hub);
+        ReflectionTestUtils.setField(controller, "maxReplay", 1000);
+        when(walletService.getWallet(walletId)).thenReturn(
+                new WalletResponse(walletId, "test@example.com", 0L, 0L, WalletStatus.ACTIVE, LocalDateTime.now()));
+        when(walletService.getTransactionsAfter(walletId, "TRN-unknown"))
+                .thenThrow(new WalletEngineException("Transaction not found"));
+    }
+
+    @Test
+    @DisplayName("SSE - Unknown Last-Event-ID leaves no subscriber behind")
+    void stream_UnknownReference_Unsubscribes() {
+        assertThrows(WalletEngineException.class, () -> controller.stream(walletId, "TRN-unknown"));
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Long-poll - Unknown ?after= leaves no subscriber behind")
+    void poll_UnknownReference_Unsubscribes() {
+        assertThrows(WalletEngineException.class, () -> controller.poll(walletId, "TRN-unknown"));
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Open-in-view is off, so a subscriber holds no connection once its initial read has committed")
+    void openInView_Disabled() throws IOException {
+        // With open-in-view on, Boot registers an interceptor that keeps the request's EntityManager (and the
+        // connection it borrowed for getWallet) open until the SSE stream or long-poll completes
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new ResourcePropertySource("classpath:application.properties"));
+        JpaProperties jpa = new Binder(ConfigurationPropertySources.get(environment))
+                .bindOrCreate("spring.jpa", Bindable.of(JpaProperties.class));
+
+        assertEquals(Boolean.FALSE, jpa.getOpenInView());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.fintech_wallet_engine.notification;
+
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+import com.example.fintech_wallet_engine.model.WalletEnums;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceStreamHubTest {
+
+    // Tasks run only when the test says so, standing in for the virtual threads that drain each subscriber
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final BalanceStreamHub hub = new BalanceStreamHub(tasks::add);
+    private final UUID walletId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Events reach only the subscribers of that wallet")
+    void dispatch_RoutesByWallet() {
+        List<BalanceEvent> received = new ArrayList<>();
+        List<BalanceEvent> other = new ArrayList<>();
+        hub.subscribe(walletId, received::add);
+        hub.subscribe(UUID.randomUUID(), other::add);
+
+        hub.dispatch(event("TRN-1"));
+        runTasks();
+
+        assertEquals(1, received.size());
+        assertTrue(other.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Dispatch only enqueues; each subscriber receives its events in order off the dispatching thread")
+    void dispatch_DeliversInOrderOffThread() {
+        List<String> received = new ArrayList<>();
+        hub.subscribe(walletId, e -> received.add(e.transaction().reference()));
+
+        hub.dispatch(event("TRN-1"));
+        hub.dispatch(event("TRN-2"));
+        assertTrue(received.isEmpty());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+
+        assertEquals(List.of("TRN-1", "TRN-2"), received);
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls too far behind is dropped and told so")
+    void dispatch_DropsSlowSubscriber() {
+        boolean[] dropped = {false};
+        hub.subscribe(walletId, e -> { }, () -> dropped[0] = true);
+
+        for (int i = 0; i <= BalanceStreamHub.MAX_PENDING; i++) {
+            hub.dispatch(event("TRN-" + i));
+        }
+
+        assertTrue(dropped[0]);
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Unsubscribing and failing subscribers are dropped")
+    void dispatch_DropsDeadSubscribers() {
+        Runnable unsubscribe = hub.subscribe(walletId, e -> { });
+        hub.subscribe(walletId, e -> {
+            throw new IllegalStateException("connection closed");
+        });
+        assertEquals(2, hub.subscriberCount());
+
+        hub.dispatch(event("TRN-1"));
+        runTasks();
+        unsubscribe.run();
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("NOTIFY payload round-trips")
+    void payload_RoundTrip() {
+        BalanceNotification notification = new BalanceNotification(walletId, "TRN-2");
+
+        BalanceNotification decoded = BalanceNotification.fromPayload(notification.toPayload());
+
+        assertEquals(notification, decoded);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.removeFirst().run();
+        }
+    }
+
+    private BalanceEvent event(String reference) {
+        return new BalanceEvent(walletId, new WalletTransactionResponse(
+                reference, WalletEnums.WalletTransactionType.CREDIT, 500L, 1500L,
+                "Salary", "SUCCESS", LocalDateTime.of(2026, 3, 3, 14, 32)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import com.example.fintech_wallet_engine.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of one client-and-wallet check on the request path: against a small hot set of wallets, and with a fresh
+ * key each call so the map stays at its bound and keeps sweeping in the background.
+ * Run with: ./mvnw test -Dtest=RateLimiterBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateLimiterBenchmark {
+
+    private static final int WARMUP = 500_000;
+    private static final int ITERATIONS = 2_000_000;
+    private static final int MAX_BUCKETS = 100_000;
+    private static final RateLimiter.Client CLIENT = new RateLimiter.Client("10.0.0.1", null);
+
+    @Test
+    void measureCheck() {
+        String[] hot = new String[1024];
+        for (int i = 0; i < hot.length; i++) {
+            hot[i] = "user-" + i + "@example.com";
+        }
+        String[] churn = new String[WARMUP + ITERATIONS];
+        for (int i = 0; i < churn.length; i++) {
+            churn[i] = "churn-" + i + "@example.com";
+        }
+
+        report("hot set", measure(limiter(), i -> hot[i & (hot.length - 1)]));
+        report("churn  ", measure(limiter(), i -> churn[i]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateLimiter limiter() {
+        // Generous limits: this measures the bookkeeping, not rejections
+        return new RateLimiter(new RateLimitProperties(true, null, MAX_BUCKETS,
+                new RateLimitProperties.Limit(1e9, 1_000_000), new RateLimitProperties.Limit(1e9, 1_000_000), null),
+                mock(ObjectProvider.class));
+    }
+
+    private long measure(RateLimiter limiter, Keys keys) {
+        for (int i = 0; i < WARMUP; i++) {
+            limiter.check(CLIENT, keys.at(i));
+        }
+        long start = System.nanoTime();
+        for (int i = WARMUP; i < WARMUP + ITERATIONS; i++) {
+            limiter.check(CLIENT, keys.at(i));
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private void report(String name, long nanos) {
+        System.out.printf("%s: %d ns/check%n", name, nanos);
+    }
+
+    @FunctionalInterface
+    private interface Keys {
+        String at(int i);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.fintech_wallet_engine.ratelimit;
+
+import com.example.fintech_wallet_engine.config.RateLimitProperties;
+import com.example.fintech_wallet_engine.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final RateLimiter.Client CLIENT = new RateLimiter.Client("10.0.0.1", null);
+
+    @Test
+    @DisplayName("Token bucket allows the burst, then one token per interval")
+    void tokenBucket_BurstThenRate() {
+        long interval = SECOND / 10;
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0, interval, interval * 3));
+        }
+        assertEquals(interval, bucket.tryAcquire(0, interval, interval * 3));
+        assertEquals(0, bucket.tryAcquire(interval, interval, interval * 3));
+    }
+
+    @Test
+    @DisplayName("Idle buckets are evicted first when the map is full")
+    void bucketMap_EvictsIdle() {
+        BucketMap buckets = new BucketMap(new RateLimitProperties.Limit(1.0, 1), 2, Runnable::run);
+
+        buckets.tryAcquire("a", 0);
+        buckets.tryAcquire("b", 10 * SECOND);
+        buckets.tryAcquire("c", 10 * SECOND);
+
+        assertEquals(2, buckets.size());
+        // "b" was not evicted, so it is still empty
+        assertTrue(buckets.tryAcquire("b", 10 * SECOND) > 0);
+    }
+
+    @Test
+    @DisplayName("With every bucket busy, trimming keeps the most-used ones")
+    void bucketMap_TrimsLeastUsedFirst() {
+        BucketMap buckets = new BucketMap(new RateLimitProperties.Limit(1.0, 5), 10, Runnable::run);
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("busy", 0);
+        }
+        for (int i = 1; i < 10; i++) {
+            buckets.tryAcquire("rotated-" + i, 0);
+        }
+
+        buckets.tryAcquire("rotated-10", 0);
+
+        // Trimmed to the 90% watermark before the new key went in
+        assertEquals(10, buckets.size());
+        // "busy" kept its state, so it is still drained
+        assertTrue(buckets.tryAcquire("busy", 0) > 0);
+    }
+
+    @Test
+    @DisplayName("Over-limit wallet calls throw with Retry-After and are counted")
+    void checkWallet_RejectsAndCounts() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(true, null, null,
+                new RateLimitProperties.Limit(1000.0, 1000), new RateLimitProperties.Limit(0.5, 2), null), provider);
+
+        limiter.check(CLIENT, "user@example.com");
+        limiter.check(CLIENT, "USER@example.com");
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.check(CLIENT, "user@example.com"));
+
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertTrue(ex.getRetryAfterMillis() > 1000 && ex.getRetryAfterMillis() <= 2000);
+        assertEquals(1.0, registry.counter("wallet.ratelimit.rejections", "scope", "wallet").count());
+    }
+
+    @Test
+    @DisplayName("A fresh client id does not buy a fresh bucket: the address's limit still applies")
+    void check_RotatingClientIds_ShareAddressLimit() {
+        RateLimiter limiter = limiter(new RateLimitProperties.Limit(1.0, 2), new RateLimitProperties.Limit(1000.0, 1000));
+
+        limiter.check(new RateLimiter.Client("10.0.0.1", "id-1"), null);
+        limiter.check(new RateLimiter.Client("10.0.0.1", "id-2"), null);
+
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.check(new RateLimiter.Client("10.0.0.1", "id-3"), null));
+        // Another address has its own budget
+        limiter.check(new RateLimiter.Client("10.0.0.2", "id-3"), null);
+    }
+
+    @Test
+    @DisplayName("A request rejected by the wallet limit gives back its client token")
+    void check_WalletRejection_DoesNotSpendClientBudget() {
+        RateLimiter limiter = limiter(new RateLimitProperties.Limit(1.0, 2), new RateLimitProperties.Limit(1.0, 1));
+
+        limiter.check(CLIENT, "hot@example.com");
+        for (int i = 0; i < 5; i++) {
+            RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                    () -> limiter.check(CLIENT, "hot@example.com"));
+            assertEquals("Too many requests for this wallet", ex.getMessage());
+        }
+
+        // One client token is left after the five rejections, but only one
+        limiter.check(CLIENT, "other@example.com");
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.check(CLIENT, "third@example.com"));
+        assertEquals("Too many requests", ex.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateLimiter limiter(RateLimitProperties.Limit client, RateLimitProperties.Limit wallet) {
+        return new RateLimiter(new RateLimitProperties(true, null, null, client, wallet, null), mock(ObjectProvider.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.fintech_wallet_engine.replica;
+
+import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConsistencyTokenAdviceTest {
+
+    private final ReplicaHealthMonitor healthMonitor = mock(ReplicaHealthMonitor.class);
+    private final ConsistencyTokenAdvice advice = new ConsistencyTokenAdvice(healthMonitor);
+
+    @Test
+    @DisplayName("Successful writes carry the primary's WAL position")
+    void successfulWrite_CarriesToken() {
+        when(healthMonitor.currentPrimaryLsn()).thenReturn(Lsn.parse("0/3000"));
+        ServletServerHttpResponse response = response();
+
+        advice.beforeBodyWrite(ApiResponse.success("ok"), null, MediaType.APPLICATION_JSON, null, request("POST"), response);
+
+        assertEquals("0/3000", response.getHeaders().getFirst(ReadConsistency.TOKEN_HEADER));
+    }
+
+    @Test
+    @DisplayName("A committed write still succeeds when the WAL position cannot be read")
+    void lsnFailure_OmitsTokenInsteadOfFailing() {
+        when(healthMonitor.currentPrimaryLsn()).thenThrow(new DataAccessResourceFailureException("primary unreachable"));
+        ApiResponse<String> body = ApiResponse.success("ok");
+        ServletServerHttpResponse response = response();
+
+        Object written = advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null, request("POST"), response);
+
+        assertSame(body, written);
+        assertNull(response.getHeaders().getFirst(ReadConsistency.TOKEN_HEADER));
+    }
+
+    @Test
+    @DisplayName("Reads and failed writes never ask the primary")
+    void readsAndFailures_SkipPrimary() {
+        advice.beforeBodyWrite(ApiResponse.success("ok"), null, MediaType.APPLICATION_JSON, null, request("GET"), response());
+        advice.beforeBodyWrite(ApiResponse.error("no"), null, MediaType.APPLICATION_JSON, null, request("POST"), response());
+
+        verifyNoInteractions(healthMonitor);
+    }
+
+    private ServletServerHttpRequest request(String method) {
+        return new ServletServerHttpRequest(new MockHttpServletRequest(method, "/api/v1/wallets/debit"));
+    }
+
+    private ServletServerHttpResponse response() {
+        return new ServletServerHttpResponse(new MockHttpServletResponse());
+    }
+}
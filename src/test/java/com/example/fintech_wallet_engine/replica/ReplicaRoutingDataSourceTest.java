@@ -0,0 +1,74 @@
+package com.example.fintech_wallet_engine.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replicaSource = mock(DataSource.class);
+    private ReplicaNode replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        replica = new ReplicaNode("replica-0", replicaSource);
+        replica.markHealthy(Lsn.parse("0/3000"), 0);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1024);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions use a healthy replica")
+    void readOnly_UsesReplica() {
+        assertSame(replicaSource, routing.determineTarget());
+    }
+
+    @Test
+    @DisplayName("Writes always use the primary")
+    void readWrite_UsesPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primary, routing.determineTarget());
+    }
+
+    @Test
+    @DisplayName("Lagging or down replicas fall back to the primary")
+    void laggingReplica_FallsBack() {
+        replica.markHealthy(Lsn.parse("0/3000"), 4096);
+        assertSame(primary, routing.determineTarget());
+
+        replica.markDown();
+        assertSame(primary, routing.determineTarget());
+    }
+
+    @Test
+    @DisplayName("Consistency token newer than the replica forces the primary")
+    void consistencyToken_ForcesPrimary() {
+        ReadConsistency.require(Lsn.parse("0/4000"));
+        assertSame(primary, routing.determineTarget());
+
+        ReadConsistency.require(Lsn.parse("0/2000"));
+        assertSame(replicaSource, routing.determineTarget());
+    }
+
+    @Test
+    @DisplayName("LSN text round-trips")
+    void lsn_RoundTrip() {
+        assertEquals("16/B374D848", Lsn.format(Lsn.parse("16/B374D848")));
+    }
+}
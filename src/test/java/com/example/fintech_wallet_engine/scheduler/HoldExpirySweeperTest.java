@@ -0,0 +1,70 @@
+package com.example.fintech_wallet_engine.scheduler;
+
+import com.example.fintech_wallet_engine.service.WalletService;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpirySweeperTest {
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    private HoldExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new HoldExpirySweeper(walletService, shardRouter);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 2);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(shardRouter).forEachShard(any());
+    }
+
+    @Test
+    @DisplayName("A wallet whose lock times out does not stop the rest of the batch")
+    void lockTimeout_OtherWalletsStillReleased() {
+        UUID locked = UUID.randomUUID();
+        UUID free = UUID.randomUUID();
+        when(walletService.findWalletsWithExpiredHolds(2)).thenReturn(List.of(locked, free));
+        when(walletService.expireHolds(locked)).thenThrow(new PessimisticLockingFailureException("lock timeout"));
+        when(walletService.expireHolds(free)).thenReturn(1);
+
+        sweeper.sweep();
+
+        verify(walletService).expireHolds(free);
+        // The failed wallet would come straight back, so the sweep stops paging until next time
+        verify(walletService, times(1)).findWalletsWithExpiredHolds(2);
+    }
+
+    @Test
+    @DisplayName("Full batches keep paging until the shard is drained")
+    void fullBatch_PagesAgain() {
+        when(walletService.findWalletsWithExpiredHolds(2))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .thenReturn(List.of(UUID.randomUUID()));
+        when(walletService.expireHolds(any())).thenReturn(1);
+
+        sweeper.sweep();
+
+        verify(walletService, times(2)).findWalletsWithExpiredHolds(2);
+        verify(walletService, times(3)).expireHolds(any());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.fintech_wallet_engine.service;
+
+import com.example.fintech_wallet_engine.dto.response.BalanceAsOfResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletBalanceResponse;
+import com.example.fintech_wallet_engine.model.BalanceCheckpoint;
+import com.example.fintech_wallet_engine.model.Wallet;
+import com.example.fintech_wallet_engine.model.WalletTransaction;
+import com.example.fintech_wallet_engine.repository.BalanceCheckpointRepository;
+import com.example.fintech_wallet_engine.repository.WalletRepository;
+import com.example.fintech_wallet_engine.repository.WalletTransactionRepository;
+import com.example.fintech_wallet_engine.sharding.ShardRegistry;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHistoryServiceTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private ObjectProvider<ShardRegistry> shardRegistry;
+
+    private BalanceHistoryService balanceHistoryService;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final UUID walletId = UUID.randomUUID();
+    private final LocalDateTime at = LocalDateTime.of(2026, 3, 3, 14, 32);
+
+    @BeforeEach
+    void setUp() {
+        balanceHistoryService = new BalanceHistoryService(walletRepository, transactionRepository,
+                checkpointRepository, shardRouter, mock(DataSource.class), shardRegistry, jsonMapper, 4);
+
+        Wallet wallet = Wallet.builder().email("test@example.com").build();
+        lenient().when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+    }
+
+    @Test
+    @DisplayName("Balance As Of - Last transaction since the checkpoint wins")
+    void balanceAsOf_TransactionAfterCheckpoint() {
+        when(checkpointRepository.findTopByWalletIdAndCheckpointDateBeforeOrderByCheckpointDateDesc(walletId, at.toLocalDate()))
+                .thenReturn(Optional.of(checkpoint(LocalDate.of(2026, 3, 2), 1000L)));
+        when(transactionRepository.findTopByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(
+                walletId, LocalDate.of(2026, 3, 3).atStartOfDay(), at))
+                .thenReturn(Optional.of(WalletTransaction.builder().balanceAfter(1750L).build()));
+
+        BalanceAsOfResponse response = balanceHistoryService.getBalanceAsOf(walletId, at);
+
+        assertEquals(1750L, response.balance());
+        verify(transactionRepository, never()).findTopByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Balance As Of - Quiet day falls back to the checkpoint")
+    void balanceAsOf_NoTransactionSinceCheckpoint() {
+        when(checkpointRepository.findTopByWalletIdAndCheckpointDateBeforeOrderByCheckpointDateDesc(walletId, at.toLocalDate()))
+                .thenReturn(Optional.of(checkpoint(LocalDate.of(2026, 3, 2), 1000L)));
+        when(transactionRepository.findTopByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        assertEquals(1000L, balanceHistoryService.getBalanceAsOf(walletId, at).balance());
+    }
+
+    @Test
+    @DisplayName("Balance As Of - Without checkpoints, seeks the full history")
+    void balanceAsOf_NoCheckpoint() {
+        when(checkpointRepository.findTopByWalletIdAndCheckpointDateBeforeOrderByCheckpointDateDesc(any(), any()))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.findTopByWalletIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(walletId, at))
+                .thenReturn(Optional.empty());
+
+        assertEquals(0L, balanceHistoryService.getBalanceAsOf(walletId, at).balance());
+    }
+
+    @Test
+    @DisplayName("Bulk Balances As Of - Binds at for the transaction and checkpoint seeks and writes one JSON line per wallet")
+    void streamBalancesAsOf_WritesJsonLines() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rows = mock(ResultSet.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(BalanceHistoryService.BULK_AS_OF_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true, false);
+        when(rows.getObject(1, UUID.class)).thenReturn(walletId);
+        when(rows.getString(2)).thenReturn("o\"brien\\x@example.com");
+        when(rows.getLong(3)).thenReturn(1750L);
+        StringWriter out = new StringWriter();
+
+        bulkService(dataSource, 1, 4).streamBalancesAsOf(at, out);
+
+        verify(statement).setTimestamp(1, Timestamp.valueOf(at));
+        verify(statement).setObject(2, at.toLocalDate());
+        verify(statement).setTimestamp(3, Timestamp.valueOf(at));
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(1, lines.size());
+        WalletBalanceResponse line = jsonMapper.readValue(lines.getFirst(), WalletBalanceResponse.class);
+        assertEquals(new WalletBalanceResponse(walletId, "o\"brien\\x@example.com", 1750L), line);
+    }
+
+    @Test
+    @DisplayName("Bulk Balances As Of - Partitions never hold more than bulk-max-connections connections at once")
+    void streamBalancesAsOf_BoundsConnections() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            ResultSet rows = mock(ResultSet.class);
+            when(connection.prepareStatement(any())).thenReturn(statement);
+            when(statement.executeQuery()).thenAnswer(query -> {
+                Thread.sleep(20);
+                return rows;
+            });
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+
+        bulkService(dataSource, 8, 2).streamBalancesAsOf(at, new StringWriter());
+
+        verify(dataSource, times(8)).getConnection();
+        assertEquals(0, open.get());
+        assertTrue(maxOpen.get() <= 2, "held " + maxOpen.get() + " connections at once");
+    }
+
+    private BalanceHistoryService bulkService(DataSource dataSource, int parallelism, int maxConnections) {
+        BalanceHistoryService service = new BalanceHistoryService(walletRepository, transactionRepository,
+                checkpointRepository, shardRouter, dataSource, shardRegistry, jsonMapper, maxConnections);
+        ReflectionTestUtils.setField(service, "bulkParallelism", parallelism);
+        return service;
+    }
+
+    private BalanceCheckpoint checkpoint(LocalDate date, Long balance) {
+        return BalanceCheckpoint.builder().walletId(walletId).checkpointDate(date).balance(balance).build();
+    }
+}
@@ -1,27 +1,40 @@
 package com.example.fintech_wallet_engine.service;
 
+import com.example.fintech_wallet_engine.dto.request.AuthorizeHoldRequest;
+import com.example.fintech_wallet_engine.dto.request.CaptureHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.CreateWalletRequest;
+import com.example.fintech_wallet_engine.dto.request.VoidHoldRequest;
 import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.dto.response.WalletHoldResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletResponse;
 import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
 import com.example.fintech_wallet_engine.exception.WalletEngineException;
 import com.example.fintech_wallet_engine.model.*;
+import com.example.fintech_wallet_engine.notification.BalanceEventPublisher;
+import com.example.fintech_wallet_engine.notification.BalanceNotification;
 import com.example.fintech_wallet_engine.repository.IdempotencyKeyRepository;
+import com.example.fintech_wallet_engine.repository.WalletHoldRepository;
 import com.example.fintech_wallet_engine.repository.WalletRepository;
 import com.example.fintech_wallet_engine.repository.WalletTransactionRepository;
+import com.example.fintech_wallet_engine.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,9 +46,18 @@ class WalletServiceTest {
     @Mock
     private WalletTransactionRepository transactionRepository;
 
+    @Mock
+    private WalletHoldRepository holdRepository;
+
     @Mock
     private IdempotencyKeyRepository idempotencyKeyRepository;
 
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private BalanceEventPublisher balanceEventPublisher;
+
     @InjectMocks
     private WalletService walletService;
 
@@ -103,6 +125,24 @@ class WalletServiceTest {
 
         verify(walletRepository).save(activeWallet);
         verify(idempotencyKeyRepository).save(any(IdempotencyKeyRecord.class));
+        verify(balanceEventPublisher).publish(any(BalanceNotification.class));
+    }
+
+    @Test
+    @DisplayName("Credit Wallet - Notification fits NOTIFY regardless of description length")
+    void creditWallet_LongDescriptionStaysUnderNotifyLimit() {
+        WalletTransactionRequest request = new WalletTransactionRequest(TEST_EMAIL, 100L, "x".repeat(10_000));
+
+        when(idempotencyKeyRepository.existsById("key-long")).thenReturn(false);
+        when(walletRepository.findByEmailForUpdateWithLock(TEST_EMAIL)).thenReturn(Optional.of(activeWallet));
+        when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        walletService.creditWallet(request, "key-long");
+
+        ArgumentCaptor<BalanceNotification> captor = ArgumentCaptor.forClass(BalanceNotification.class);
+        verify(balanceEventPublisher).publish(captor.capture());
+        assertEquals(activeWallet.getId(), captor.getValue().walletId());
+        assertTrue(captor.getValue().toPayload().getBytes(StandardCharsets.UTF_8).length < 8000);
     }
 
     @Test
@@ -151,6 +191,7 @@ class WalletServiceTest {
 
         assertEquals(100L, activeWallet.getBalance());
         verify(walletRepository, never()).save(activeWallet);
+        verify(balanceEventPublisher, never()).publish(any());
     }
 
     @Test
@@ -165,6 +206,107 @@ class WalletServiceTest {
         assertThrows(WalletEngineException.class, () -> walletService.debitWallet(request, "key-inactive"));
     }
 
+    @Test
+    @DisplayName("Authorize Hold - Reduces available balance only")
+    void authorizeHold_Success() {
+        setField(activeWallet, "balance", 5000L);
+        AuthorizeHoldRequest request = new AuthorizeHoldRequest(TEST_EMAIL, 2000L, "Pre-auth", 3600L);
+
+        when(walletRepository.findByEmailForUpdateWithLock(TEST_EMAIL)).thenReturn(Optional.of(activeWallet));
+        when(holdRepository.save(any(WalletHold.class))).thenAnswer(i -> i.getArgument(0));
+
+        WalletHoldResponse response = walletService.authorizeHold(request, null);
+
+        assertEquals(5000L, activeWallet.getBalance());
+        assertEquals(3000L, response.availableBalance());
+        assertEquals(WalletEnums.HoldStatus.ACTIVE, response.status());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Authorize Hold - Rejects a duration past the maximum instead of overflowing")
+    void authorizeHold_DurationTooLong() {
+        AuthorizeHoldRequest request = new AuthorizeHoldRequest(TEST_EMAIL, 2000L, "Pre-auth", Long.MAX_VALUE);
+
+        assertThrows(WalletEngineException.class, () -> walletService.authorizeHold(request, null));
+        verify(walletRepository, never()).findByEmailForUpdateWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Expire Holds - Releases only this wallet's expired holds")
+    void expireHolds_ReleasesExpired() {
+        setField(activeWallet, "balance", 5000L);
+        setField(activeWallet, "heldBalance", 2000L);
+        WalletHold hold = activeHold(2000L);
+
+        when(walletRepository.findByIdWithLock(activeWallet.getId())).thenReturn(Optional.of(activeWallet));
+        when(holdRepository.findByWalletIdAndStatusAndExpiresAtBefore(eq(activeWallet.getId()), eq(WalletEnums.HoldStatus.ACTIVE), any()))
+                .thenReturn(List.of(hold));
+
+        assertEquals(1, walletService.expireHolds(activeWallet.getId()));
+        assertEquals(WalletEnums.HoldStatus.EXPIRED, hold.getStatus());
+        assertEquals(5000L, activeWallet.getAvailableBalance());
+    }
+
+    @Test
+    @DisplayName("Debit Wallet - Held funds are not spendable")
+    void debitWallet_BlockedByHold() {
+        setField(activeWallet, "balance", 5000L);
+        setField(activeWallet, "heldBalance", 4500L);
+        WalletTransactionRequest request = new WalletTransactionRequest(TEST_EMAIL, 1000L, "Purchase");
+
+        when(walletRepository.findByEmailForUpdateWithLock(TEST_EMAIL)).thenReturn(Optional.of(activeWallet));
+
+        assertThrows(WalletEngineException.class, () -> walletService.debitWallet(request, null));
+    }
+
+    @Test
+    @DisplayName("Capture Hold - Partial capture debits ledger and releases remainder")
+    void captureHold_Partial() {
+        setField(activeWallet, "balance", 5000L);
+        setField(activeWallet, "heldBalance", 2000L);
+        WalletHold hold = activeHold(2000L);
+
+        when(walletRepository.findByEmailForUpdateWithLock(TEST_EMAIL)).thenReturn(Optional.of(activeWallet));
+        when(holdRepository.findByReference(hold.getReference())).thenReturn(Optional.of(hold));
+        when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        WalletHoldResponse response = walletService.captureHold(hold.getReference(), new CaptureHoldRequest(TEST_EMAIL, 1500L), null);
+
+        assertEquals(3500L, activeWallet.getBalance());
+        assertEquals(0L, activeWallet.getHeldBalance());
+        assertEquals(3500L, response.availableBalance());
+        assertEquals(WalletEnums.HoldStatus.CAPTURED, response.status());
+        verify(transactionRepository).save(any(WalletTransaction.class));
+    }
+
+    @Test
+    @DisplayName("Void Hold - Restores available balance")
+    void voidHold_Success() {
+        setField(activeWallet, "balance", 5000L);
+        setField(activeWallet, "heldBalance", 2000L);
+        WalletHold hold = activeHold(2000L);
+
+        when(walletRepository.findByEmailForUpdateWithLock(TEST_EMAIL)).thenReturn(Optional.of(activeWallet));
+        when(holdRepository.findByReference(hold.getReference())).thenReturn(Optional.of(hold));
+
+        WalletHoldResponse response = walletService.voidHold(hold.getReference(), new VoidHoldRequest(TEST_EMAIL));
+
+        assertEquals(5000L, response.availableBalance());
+        assertEquals(WalletEnums.HoldStatus.VOIDED, hold.getStatus());
+        assertThrows(WalletEngineException.class, () -> walletService.voidHold(hold.getReference(), new VoidHoldRequest(TEST_EMAIL)));
+    }
+
+    private WalletHold activeHold(Long amount) {
+        return WalletHold.builder()
+                .wallet(activeWallet)
+                .reference("HLD-test")
+                .amount(amount)
+                .status(WalletEnums.HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
     private void setField(Object target, String fieldName, Object value) {
         try {
             java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
@@ -0,0 +1,66 @@
+package com.example.fintech_wallet_engine.sharding;
+
+import com.example.fintech_wallet_engine.exception.WalletEngineException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ShardRegistryTest {
+
+    private ShardRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ShardRegistry(16, Map.of(
+                0, mock(DataSource.class),
+                1, mock(DataSource.class)));
+    }
+
+    @Test
+    @DisplayName("Same email always lands on the same shard, regardless of case")
+    void shardFor_IsStable() {
+        assertEquals(registry.shardFor("user@example.com"), registry.shardFor("USER@example.com"));
+    }
+
+    @Test
+    @DisplayName("Wallets are spread across all shards")
+    void shardFor_SpreadsKeys() {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            seen.add(registry.shardFor("user" + i + "@example.com"));
+        }
+        assertEquals(Set.of(0, 1), seen);
+    }
+
+    @Test
+    @DisplayName("A loaded bucket map takes effect immediately")
+    void replaceAssignments_UpdatesMap() {
+        int[] allOnShardOne = new int[16];
+        Arrays.fill(allOnShardOne, 1);
+
+        registry.replaceAssignments(allOnShardOne);
+
+        assertEquals(1, registry.shardFor("user@example.com"));
+    }
+
+    @Test
+    @DisplayName("Unknown shards are rejected, and a map naming one is not adopted")
+    void assignments_UnknownShard() {
+        int[] withUnknown = registry.bucketAssignments();
+        withUnknown[3] = 9;
+
+        assertThrows(WalletEngineException.class, () -> registry.checkAssignment(0, 1, 9));
+        assertThrows(WalletEngineException.class, () -> registry.replaceAssignments(withUnknown));
+        assertThrows(WalletEngineException.class, () -> registry.dataSource(9));
+        assertNotEquals(9, registry.bucketAssignments()[3]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.fintech_wallet_engine.wire;
+
+import com.example.fintech_wallet_engine.model.WalletEnums;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletWireClientTest {
+
+    private HttpServer server;
+    private WalletWireClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        client = new WalletWireClient(URI.create("http://127.0.0.1:" + server.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("A response cut short hands back the results that did arrive")
+    void send_ShortResponse_KeepsPartialResults() throws IOException {
+        WireProtocol.Result first = new WireProtocol.Result(1L, WireProtocol.STATUS_OK, WalletEnums.WalletTransactionType.CREDIT,
+                100L, 100L, 1_772_548_320_000L, "TRN-1", null);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        WireProtocol.writeResult(new DataOutputStream(body), first);
+        // Half of a second frame, as if the server died mid-write
+        body.write(new byte[]{0, 0, 0, 40, WireProtocol.VERSION});
+        serve(body.toByteArray());
+
+        List<WireProtocol.Command> commands = List.of(
+                new WireProtocol.Command(1L, WireProtocol.OP_CREDIT, "user@example.com", 100L, "key-1", null),
+                new WireProtocol.Command(2L, WireProtocol.OP_CREDIT, "user@example.com", 100L, "key-2", null),
+                new WireProtocol.Command(3L, WireProtocol.OP_CREDIT, "user@example.com", 100L, "key-3", null));
+
+        PartialResultException e = assertThrows(PartialResultException.class, () -> client.send(commands));
+
+        assertEquals(List.of(first), e.getResults());
+    }
+
+    private void serve(byte[] body) {
+        server.createContext("/api/v1/wallets/frames", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.fintech_wallet_engine.wire;
+
+import com.example.fintech_wallet_engine.dto.request.WalletTransactionRequest;
+import com.example.fintech_wallet_engine.dto.response.ApiResponse;
+import com.example.fintech_wallet_engine.dto.response.WalletTransactionResponse;
+import com.example.fintech_wallet_engine.model.WalletEnums;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Per-request codec cost of the frame protocol vs the JSON path (request decode + response encode).
+ * Run with: ./mvnw test -Dtest=WireProtocolBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WireProtocolBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final WalletTransactionResponse txn = new WalletTransactionResponse("TRN-6f1c2f4e-8f0b-4b53-9c57-1f0e2b9d7a10",
+            WalletEnums.WalletTransactionType.CREDIT, 5000L, 125000L, "Salary", "SUCCESS", LocalDateTime.now());
+
+    @Test
+    void compareCodecs() throws IOException {
+        byte[] jsonRequest = jsonMapper.writeValueAsBytes(new WalletTransactionRequest("user@example.com", 5000L, "Salary"));
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        WireProtocol.writeCommand(new DataOutputStream(frame),
+                new WireProtocol.Command(1L, WireProtocol.OP_CREDIT, "user@example.com", 5000L, "key-1", "Salary"));
+        byte[] frameRequest = frame.toByteArray();
+
+        report("json ", measure(() -> json(jsonRequest)));
+        report("frame", measure(() -> frame(frameRequest)));
+    }
+
+    private int json(byte[] request) {
+        WalletTransactionRequest decoded = jsonMapper.readValue(request, WalletTransactionRequest.class);
+        return jsonMapper.writeValueAsBytes(ApiResponse.success(txn, "Wallet credited successfully")).length + decoded.email().length();
+    }
+
+    private int frame(byte[] request) throws IOException {
+        WireProtocol.Command decoded = WireProtocol.readCommand(new DataInputStream(new ByteArrayInputStream(request)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+        WireProtocol.writeResult(new DataOutputStream(out), new WireProtocol.Result(decoded.correlationId(),
+                WireProtocol.STATUS_OK, txn.type(), txn.amount(), txn.balanceAfter(), 0L, txn.reference(), null));
+        return out.size();
+    }
+
+    private long[] measure(Codec codec) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += codec.run();
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new long[]{elapsed / ITERATIONS, allocated / ITERATIONS, sink};
+    }
+
+    private void report(String name, long[] result) {
+        System.out.printf("%s: %d ns/request, %d bytes allocated/request%n", name, result[0], result[1]);
+    }
+
+    @FunctionalInterface
+    private interface Codec {
+        int run() throws IOException;
+    }
+}
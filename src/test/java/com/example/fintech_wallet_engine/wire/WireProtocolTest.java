@@ -0,0 +1,74 @@
+package com.example.fintech_wallet_engine.wire;
+
+import com.example.fintech_wallet_engine.model.WalletEnums;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireProtocolTest {
+
+    @Test
+    @DisplayName("Pipelined commands decode in order, then a clean end of stream")
+    void commands_RoundTrip() throws IOException {
+        WireProtocol.Command credit = new WireProtocol.Command(1L, WireProtocol.OP_CREDIT, "user@example.com", 5000L, "key-1", "Salary");
+        WireProtocol.Command debit = new WireProtocol.Command(2L, WireProtocol.OP_DEBIT, "user@example.com", 1500L, null, null);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        WireProtocol.writeCommand(out, credit);
+        WireProtocol.writeCommand(out, debit);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        assertEquals(credit, WireProtocol.readCommand(in));
+        assertEquals(debit, WireProtocol.readCommand(in));
+        assertNull(WireProtocol.readCommand(in));
+    }
+
+    @Test
+    @DisplayName("Success, rejection and throttled results round-trip")
+    void results_RoundTrip() throws IOException {
+        WireProtocol.Result ok = new WireProtocol.Result(7L, WireProtocol.STATUS_OK, WalletEnums.WalletTransactionType.DEBIT,
+                1500L, 3500L, 1_772_548_320_000L, "TRN-abc", null);
+        WireProtocol.Result rejected = new WireProtocol.Result(8L, WireProtocol.STATUS_REJECTED, null, 0, 0, 0, null, "Insufficient funds");
+        WireProtocol.Result throttled = new WireProtocol.Result(9L, WireProtocol.STATUS_THROTTLED, null, 0, 0, 0, null,
+                "Too many requests", 250L);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        WireProtocol.writeResult(out, ok);
+        WireProtocol.writeResult(out, rejected);
+        WireProtocol.writeResult(out, throttled);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        assertEquals(ok, WireProtocol.readResult(in));
+        assertEquals(rejected, WireProtocol.readResult(in));
+        assertEquals(throttled, WireProtocol.readResult(in));
+    }
+
+    @Test
+    @DisplayName("Unknown trailing fields are skipped and oversized frames rejected")
+    void frames_ForwardCompatible() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        WireProtocol.writeCommand(out, new WireProtocol.Command(1L, WireProtocol.OP_CREDIT, "a@b.co", 1L, null, null));
+        byte[] frame = buffer.toByteArray();
+
+        // Same frame with 4 extra bytes appended inside the declared length
+        ByteArrayOutputStream extended = new ByteArrayOutputStream();
+        DataOutputStream ext = new DataOutputStream(extended);
+        ext.writeInt(frame.length - 4 + 4);
+        ext.write(frame, 4, frame.length - 4);
+        ext.writeInt(42);
+        ext.write(frame);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(extended.toByteArray()));
+        assertEquals("a@b.co", WireProtocol.readCommand(in).email());
+        assertEquals(1L, WireProtocol.readCommand(in).correlationId());
+
+        DataInputStream huge = new DataInputStream(new ByteArrayInputStream(new byte[]{0x7F, 0, 0, 0}));
+        assertThrows(IOException.class, () -> WireProtocol.readCommand(huge));
+    }
+}